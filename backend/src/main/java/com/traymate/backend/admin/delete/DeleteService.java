@@ -3,8 +3,10 @@ package com.traymate.backend.admin.delete;
 import com.traymate.backend.admin.resident.ResidentRepository;
 import com.traymate.backend.auth.model.User;
 import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.service.UserAccountChangedEvent;
 import com.traymate.backend.mealOrders.MealOrdersRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -14,6 +16,7 @@ public class DeleteService {
     private final UserRepository userRepository;
     private final ResidentRepository residentRepository;
     private final MealOrdersRepository mealOrdersRepository;
+    private final ApplicationEventPublisher events;
 
     @Transactional
     public void deleteEntity(String type, Long id) {
@@ -40,6 +43,8 @@ public class DeleteService {
             });
 
             userRepository.delete(user);
+            events.publishEvent(new UserAccountChangedEvent(
+                    user.getId(), user.getEmail(), UserAccountChangedEvent.Change.DELETED));
 
         } else {
             throw new RuntimeException("Invalid delete type");
@@ -1,11 +1,13 @@
 //get request for residents
 package com.traymate.backend.admin.resident;
 
-import com.traymate.backend.admin.resident.dto.ResidentCardDto;
+import com.traymate.backend.admin.resident.dto.ResidentResponse;
+import com.traymate.backend.common.FieldSelection;
 import lombok.RequiredArgsConstructor;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.List;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/admin/residents")
@@ -14,8 +16,24 @@ public class ResidentQueryController {
 
     private final ResidentQueryService service;
 
+    /**
+     * Resident list. Without ?fields= this is the full card shape the
+     * admin dashboard has always received; ?fields=id,fullName,roomNumber
+     * (or ?fields=summary) returns only those properties per row.
+     */
     @GetMapping
-    public List<ResidentCardDto> getResidents() {
-        return service.getAllResidents();
+    public List<?> getResidents(@RequestParam(required = false) String fields) {
+        Set<String> selected = FieldSelection.parse(
+            fields, ResidentQueryService.CARD_FIELDS, ResidentQueryService.FIELD_PRESETS);
+        if (selected == null) {
+            return service.getAllResidents();
+        }
+        return service.getAllResidents(selected);
+    }
+
+    /** Full record for one resident — what the list opens on tap. */
+    @GetMapping("/{id}")
+    public ResidentResponse getResident(@PathVariable Integer id) {
+        return service.getResident(id);
     }
 }
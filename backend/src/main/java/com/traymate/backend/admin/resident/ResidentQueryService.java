@@ -1,30 +1,87 @@
 package com.traymate.backend.admin.resident;
 
 import com.traymate.backend.admin.resident.dto.ResidentCardDto;
+import com.traymate.backend.admin.resident.dto.ResidentResponse;
+import com.traymate.backend.admin.resident.dto.ResidentSummaryDto;
+import com.traymate.backend.common.FieldSelection;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Service
 @RequiredArgsConstructor
 public class ResidentQueryService {
 
+    /** Properties a resident list row can carry, in response order. */
+    public static final List<String> CARD_FIELDS = List.of(
+        "id", "fullName", "roomNumber", "dietaryRestrictions",
+        "foodAllergies", "medicalConditions", "medications", "caregiverId"
+    );
+
+    /** ?fields=summary — name/room pickers. */
+    public static final Map<String, Set<String>> FIELD_PRESETS = Map.of(
+        "summary", Set.of("id", "fullName", "roomNumber", "caregiverId")
+    );
+
+    // Anything inside this set can be answered from the lean summary query.
+    private static final Set<String> SUMMARY_FIELDS = FIELD_PRESETS.get("summary");
+
     private final ResidentRepository repository;
 
     public List<ResidentCardDto> getAllResidents() {
-        return repository.findAll()
-                .stream()
-                .map(r -> new ResidentCardDto(
-                        r.getId(),
-                        r.getFirstName() + " " + r.getLastName(),
-                        r.getRoomNumber(),
-                        r.getDietaryRestrictions(),
-                        r.getFoodAllergies(),
-                        r.getMedicalConditions(),
-                        r.getMedications(),
-                        r.getCaregiver() != null ? r.getCaregiver().getId() : null
-                ))
+        return repository.findAllCards();
+    }
+
+    /**
+     * Sparse-fieldset variant of getAllResidents. When every requested
+     * field is in the summary set the lean projection is used, so the
+     * dietary/medical text columns are never selected at all.
+     */
+    public List<Map<String, Object>> getAllResidents(Set<String> fields) {
+        if (SUMMARY_FIELDS.containsAll(fields)) {
+            return repository.findAllSummaries().stream()
+                .map(r -> FieldSelection.pick(toRow(r), fields))
                 .toList();
+        }
+        return repository.findAllCards().stream()
+            .map(r -> FieldSelection.pick(toRow(r), fields))
+            .toList();
+    }
+
+    /** Detail view: the full record for one resident. */
+    @Transactional(readOnly = true)
+    public ResidentResponse getResident(Integer id) {
+        Resident resident = repository.findById(id)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Resident not found"));
+        return new ResidentResponse(resident);
+    }
+
+    private static Map<String, Object> toRow(ResidentSummaryDto r) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", r.getId());
+        row.put("fullName", r.getFullName());
+        row.put("roomNumber", r.getRoomNumber());
+        row.put("caregiverId", r.getCaregiverId());
+        return row;
+    }
+
+    private static Map<String, Object> toRow(ResidentCardDto r) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", r.getId());
+        row.put("fullName", r.getFullName());
+        row.put("roomNumber", r.getRoomNumber());
+        row.put("dietaryRestrictions", r.getDietaryRestrictions());
+        row.put("foodAllergies", r.getFoodAllergies());
+        row.put("medicalConditions", r.getMedicalConditions());
+        row.put("medications", r.getMedications());
+        row.put("caregiverId", r.getCaregiverId());
+        return row;
     }
 }
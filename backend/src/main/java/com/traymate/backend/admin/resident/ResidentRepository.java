@@ -3,6 +3,10 @@ package com.traymate.backend.admin.resident;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.traymate.backend.admin.resident.dto.ResidentCardDto;
+import com.traymate.backend.admin.resident.dto.ResidentSummaryDto;
 
 //import java.util.Optional;
 
@@ -17,5 +21,36 @@ public interface ResidentRepository extends JpaRepository<Resident, Integer> {
     long countByCaregiverIsNull();
 
     List<Resident> findByCaregiver_Id(Long caregiverId);
+
+    // ── List projections ────────────────────────────────────────────
+    // Constructor projections select only the listed columns — no entity
+    // hydration, no dirty-tracking snapshot, no lazy caregiver proxy.
+    // LEFT JOIN so residents without a caregiver are still returned.
+
+    @Query("""
+        SELECT new com.traymate.backend.admin.resident.dto.ResidentCardDto(
+            r.id,
+            TRIM(CONCAT(COALESCE(r.firstName, ''), ' ', COALESCE(r.lastName, ''))),
+            r.roomNumber,
+            r.dietaryRestrictions,
+            r.foodAllergies,
+            r.medicalConditions,
+            r.medications,
+            c.id)
+        FROM Resident r LEFT JOIN r.caregiver c
+        ORDER BY r.id
+    """)
+    List<ResidentCardDto> findAllCards();
+
+    @Query("""
+        SELECT new com.traymate.backend.admin.resident.dto.ResidentSummaryDto(
+            r.id,
+            TRIM(CONCAT(COALESCE(r.firstName, ''), ' ', COALESCE(r.lastName, ''))),
+            r.roomNumber,
+            c.id)
+        FROM Resident r LEFT JOIN r.caregiver c
+        ORDER BY r.id
+    """)
+    List<ResidentSummaryDto> findAllSummaries();
 }
 
@@ -4,13 +4,16 @@ import com.traymate.backend.admin.resident.dto.CreateResidentRequest;
 import com.traymate.backend.admin.resident.dto.UpdateResidentInfo;
 import com.traymate.backend.audit.DietaryAuditService;
 import com.traymate.backend.audit.DietaryAuditService.FieldDiff;
-import com.traymate.backend.coverage.MealCoverageAlertService;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Objects;
 
 @Service
 @RequiredArgsConstructor
@@ -18,8 +21,14 @@ public class ResidentService {
 
     private final ResidentRepository repository;
     private final DietaryAuditService auditService;
-    private final MealCoverageAlertService coverageAlertService;
+    private final OutboxService outbox;
 
+    // Audit rows are written in the same transaction as the resident so
+    // the trail can never disagree with the record. Coverage re-evaluation
+    // is NOT — it runs off the outbox event (CoverageChangeListener) after
+    // commit, so saving a profile doesn't wait on a scan of the whole menu.
+
+    @Transactional
     public Resident createResident(CreateResidentRequest req) {
 
         Resident resident = Resident.builder()
@@ -50,14 +59,15 @@ public class ResidentService {
             new FieldDiff("medications",        null, saved.getMedications())
         ));
 
-        // First pass at coverage alerts — flag immediately if the new
-        // resident's profile already excludes every meal on the menu.
-        coverageAlertService.evaluateResident(saved.getId());
+        // First pass at coverage alerts happens off this event — flags the
+        // new resident if their profile already excludes every meal.
+        outbox.append(OutboxEvent.AGGREGATE_RESIDENT, saved.getId(), "resident.created", null);
 
         return saved;
     }
 
     //update reisdent info
+    @Transactional
     public Resident updateResident(Integer id, UpdateResidentInfo info){
 
         Resident resident = repository.findById(id)
@@ -107,10 +117,16 @@ public class ResidentService {
         diffs.add(new FieldDiff("medications",       prevMeds,       saved.getMedications()));
         auditService.recordAll(saved.getId(), diffs);
 
-        // Re-evaluate meal coverage. Profile changes can either open a new
-        // alert (resident now excluded from every meal in a period) or
-        // auto-resolve an existing one (restriction lifted).
-        coverageAlertService.evaluateResident(saved.getId());
+        // Coverage re-evaluation hangs off this event. Profile changes can
+        // either open a new alert (resident now excluded from every meal in
+        // a period) or auto-resolve an existing one (restriction lifted).
+        // Payload lists which dietary fields changed, never their values.
+        List<String> changedFields = diffs.stream()
+            .filter(d -> !Objects.equals(d.oldValue, d.newValue))
+            .map(d -> d.field)
+            .toList();
+        outbox.append(OutboxEvent.AGGREGATE_RESIDENT, saved.getId(), "resident.updated",
+            OutboxService.payload("dietaryFieldsChanged", changedFields));
 
         return saved;
     }
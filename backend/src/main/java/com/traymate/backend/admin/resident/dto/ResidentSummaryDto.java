@@ -0,0 +1,18 @@
+package com.traymate.backend.admin.resident.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Lean resident row for pickers and list screens that only show who and
+ * where. Selected via a JPQL constructor projection, so the dietary and
+ * medical text columns are never read for these requests.
+ */
+@Getter
+@AllArgsConstructor
+public class ResidentSummaryDto {
+    private Integer id;
+    private String fullName;
+    private String roomNumber;
+    private Long caregiverId;
+}
@@ -1,8 +1,12 @@
 package com.traymate.backend.auth.config;
 
 
-import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.model.User;
 import com.traymate.backend.auth.service.JwtTokenService;
+import com.traymate.backend.auth.service.PrincipalCache;
+import com.traymate.backend.auth.service.TokenVersionRegistry;
+
+import io.jsonwebtoken.Claims;
 
 import jakarta.servlet.*;
 import jakarta.servlet.http.*;
@@ -18,6 +22,7 @@ import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Optional;
 
 //import org.springframework.security.core.authority.SimpleGrantedAuthority;
 
@@ -32,11 +37,14 @@ import java.util.List;
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtTokenService jwtService;
-    private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
+    private final TokenVersionRegistry tokenVersions;
 
-    public JwtAuthenticationFilter(JwtTokenService jwtService, UserRepository userRepository) {
+    public JwtAuthenticationFilter(JwtTokenService jwtService, PrincipalCache principalCache,
+                                   TokenVersionRegistry tokenVersions) {
         this.jwtService = jwtService;
-        this.userRepository = userRepository;
+        this.principalCache = principalCache;
+        this.tokenVersions = tokenVersions;
     }
 
     // @Override
@@ -63,11 +71,12 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
 
         String jwt = authHeader.substring(7);
-        String email = jwtService.extractEmail(jwt);
+        Claims claims = jwtService.extractAllClaims(jwt);
+        String email = claims.getSubject();
 
         if (email != null && SecurityContextHolder.getContext().getAuthentication() == null) {
 
-            userRepository.findByEmail(email).ifPresent(user -> {
+            principalFor(claims, email).ifPresent(user -> {
 
                 UsernamePasswordAuthenticationToken authToken =
                         new UsernamePasswordAuthenticationToken(
@@ -87,4 +96,18 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
         filterChain.doFilter(request, response);
     }
+
+    //tokens with id/role claims are authorized from the claims alone, as
+    //long as their version hasn't been revoked; older tokens without them
+    //fall back to the cached user lookup
+    private Optional<User> principalFor(Claims claims, String email) {
+        Optional<User> fromClaims = jwtService.principalFrom(claims);
+        if (fromClaims.isEmpty()) {
+            return principalCache.resolve(email);
+        }
+        Integer version = jwtService.tokenVersion(claims);
+        return tokenVersions.isCurrent(fromClaims.get().getId(), version)
+                ? fromClaims
+                : Optional.empty();
+    }
 }
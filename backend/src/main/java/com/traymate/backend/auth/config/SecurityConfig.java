@@ -46,6 +46,8 @@ package com.traymate.backend.auth.config;
 
 import java.util.List;
 
+import jakarta.servlet.DispatcherType;
+
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -78,10 +80,16 @@ public class SecurityConfig {
 
             .authorizeHttpRequests(auth -> auth
                 .requestMatchers(HttpMethod.OPTIONS, "/**").permitAll()
+                // SSE (/messages/stream) completes on an ASYNC dispatch; the
+                // original request was already authenticated by the JWT filter
+                .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                 .requestMatchers("/auth/login").permitAll()
 
                 .requestMatchers("/").permitAll()
 
+                // Content-addressed meal images; GET only, uploads need a role
+                .requestMatchers(HttpMethod.GET, "/images/**").permitAll()
+
                 // ADMIN only
                 .requestMatchers("/auth/register").hasAuthority("ROLE_ADMIN")
                 .requestMatchers("/admin/**").hasAuthority("ROLE_ADMIN")
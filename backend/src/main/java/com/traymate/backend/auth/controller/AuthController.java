@@ -5,12 +5,17 @@ import com.traymate.backend.auth.dto.*;
 import com.traymate.backend.auth.model.User;
 import com.traymate.backend.auth.repository.UserRepository;
 import com.traymate.backend.auth.service.AuthService;
+import com.traymate.backend.auth.service.PrincipalCache;
 
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.concurrent.CompletableFuture;
+
 @RestController
 @RequestMapping("/auth")
 @RequiredArgsConstructor
@@ -19,6 +24,7 @@ public class AuthController {
 
     private final AuthService authService;
     private final UserRepository userRepository;
+    private final PrincipalCache principalCache;
 
     /**
      *register a new user.
@@ -48,8 +54,10 @@ public class AuthController {
      * - token is used for accessing protected endpoints
      */
     @PostMapping("/login")
-    public AuthResponse login(@RequestBody LoginRequest req) {
-        return authService.login(req);
+    public CompletableFuture<AuthResponse> login(@RequestBody LoginRequest req, HttpServletRequest request) {
+        //async: the request thread is released while BCrypt runs on the
+        //login pool; 429 + Retry-After when throttled or the pool is full
+        return authService.login(req, request.getRemoteAddr());
     }
 
     @GetMapping("/me")
@@ -57,8 +65,9 @@ public class AuthController {
 
         String email = authentication.getName();
 
-        User user = userRepository.findByEmail(email)
-                .orElseThrow();
+        User user = authentication.getPrincipal() instanceof User principal
+                ? principal
+                : userRepository.findByEmail(email).orElseThrow();
 
         return MeResponse.builder()
                 .id(user.getId())
@@ -66,4 +75,24 @@ public class AuthController {
                 .role(user.getRole().toString())
                 .build();
     }
+
+    /**
+     * sign a user out everywhere (admin only): every token issued to them
+     * so far stops working. Use after changing their role.
+     */
+    @PostMapping("/revoke/{userId}")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public void revokeTokens(@PathVariable Long userId) {
+        authService.revokeTokens(userId);
+    }
+
+    /**
+     * principal cache hit rate (admin only) — how many authenticated
+     * requests were served without a user lookup
+     */
+    @GetMapping("/principal-cache")
+    @PreAuthorize("hasAuthority('ROLE_ADMIN')")
+    public PrincipalCache.Stats principalCacheStats() {
+        return principalCache.stats();
+    }
 }
@@ -0,0 +1,20 @@
+package com.traymate.backend.auth.exception;
+
+/**
+ * Login refused before checking the password: too many attempts for the
+ * account or client IP, or the password-check queue is full. Turned into
+ * HTTP 429 with a Retry-After header by GlobalExceptionHandler.
+ */
+public class LoginThrottledException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginThrottledException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = Math.max(1, retryAfterSeconds);
+    }
+
+    public long getRetryAfterSeconds() {
+        return retryAfterSeconds;
+    }
+}
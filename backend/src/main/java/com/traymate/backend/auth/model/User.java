@@ -33,6 +33,12 @@ public class User implements UserDetails {
 
     private String role;
 
+    //bumped to revoke every token issued so far (role change, sign out
+    //everywhere); access tokens carry it as the "ver" claim
+    @Builder.Default
+    @Column(name = "token_version", nullable = false)
+    private int tokenVersion = 0;
+
     //converts the user's role into a Spring Security authority
     //for Spring to decides what the user is allowed to access
     @Override
@@ -0,0 +1,8 @@
+package com.traymate.backend.auth.model;
+
+/**
+ * The non-secret columns of a user — what the messaging directory and
+ * principal caches hold instead of full User entities (no password hash
+ * kept in memory).
+ */
+public record UserSummary(Long id, String fullName, String email, String role) {}
@@ -9,7 +9,10 @@ package com.traymate.backend.auth.repository;
  */
 
 import com.traymate.backend.auth.model.User;
+import com.traymate.backend.auth.model.UserSummary;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.util.List;
 import java.util.Optional;
@@ -23,4 +26,22 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     List<User> findByRole(String role);
 
+    long countByRole(String role);
+
+    //every user without the password column, for in-memory directories
+    @Query("SELECT new com.traymate.backend.auth.model.UserSummary(u.id, u.fullName, u.email, u.role) FROM User u")
+    List<UserSummary> findAllSummaries();
+
+    //one user without the password column, for PrincipalCache
+    @Query("SELECT new com.traymate.backend.auth.model.UserSummary(u.id, u.fullName, u.email, u.role) FROM User u WHERE u.email = :email")
+    Optional<UserSummary> findSummaryByEmail(String email);
+
+    //token revocation (TokenVersionRegistry)
+    @Query("SELECT u.tokenVersion FROM User u WHERE u.id = :id")
+    Optional<Integer> findTokenVersion(Long id);
+
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(Long id);
+
 }
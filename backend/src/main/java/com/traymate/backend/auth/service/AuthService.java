@@ -7,15 +7,15 @@ import com.traymate.backend.auth.exception.AuthException;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import org.springframework.http.HttpStatus;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.util.concurrent.CompletableFuture;
+
 
 /**
  * handles authentication-related logic such as
@@ -29,6 +29,10 @@ public class AuthService {
     private final UserRepository repo;
     private final PasswordEncoder encoder;
     private final JwtTokenService jwtService;
+    private final ApplicationEventPublisher events;
+    private final TokenVersionRegistry tokenVersions;
+    private final LoginThrottle throttle;
+    private final PasswordVerifier passwordVerifier;
 
     /**
      * registers a new user and returns a JWT token.
@@ -68,52 +72,74 @@ public class AuthService {
 
         //save the user to the database
         repo.save(user);
+        events.publishEvent(new UserAccountChangedEvent(
+                user.getId(), user.getEmail(), UserAccountChangedEvent.Change.REGISTERED));
 
         //generate a JWT token using the user's email and return the tokens
         // String token = jwtService.generateToken(new HashMap<>(), user.getEmail());
         // return AuthResponse.builder().token(token).build();
 
-        Map<String, Object> claims = new HashMap<>();
-        claims.put("role", user.getRole());
-
-        String token = jwtService.generateToken(claims, user.getEmail());
+        String token = jwtService.generateAccessToken(user);
         return AuthResponse.builder().token(token).build();
 
     }
 
+    /**
+     * revokes every token issued to a user so far (sign out everywhere;
+     * call after changing a user's role). Takes effect on the next request.
+     */
+    public void revokeTokens(Long userId) {
+        try {
+            tokenVersions.revoke(userId);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, e.getMessage());
+        }
+        events.publishEvent(new UserAccountChangedEvent(
+                userId, null, UserAccountChangedEvent.Change.UPDATED));
+    }
+
     /**
      * authenticates a user using email and password.
      *
+     * the attempt is admitted by LoginThrottle (per account + per client
+     * IP) before any work, and the BCrypt check runs on PasswordVerifier's
+     * bounded pool, so a login storm can't occupy request threads.
+     *
      * @param req login credentials from the client
-     * return AuthResponse containing a JWT token
+     * @param clientIp caller address, for per-IP throttling (may be null)
+     * return AuthResponse containing a JWT token, once the password check completes
      */
-    public AuthResponse login(LoginRequest req) {
+    public CompletableFuture<AuthResponse> login(LoginRequest req, String clientIp) {
+
+        throttle.admit(req.getEmail(), clientIp);
 
         //find the user by email
         User user = repo.findByEmail(req.getEmail())
                 .orElseThrow(() -> new AuthException("Invalid email or password"));
 
         //compare raw password with encrypted password from database
-        if (!encoder.matches(req.getPassword(), user.getPassword())) {
-            throw new AuthException("Invalid email or password");
-        }
-
-        // Map<String, Object> claims = new HashMap<>();
-        // claims.put("role", user.getRole()); //add roles in the token
-
-        //generate a JWT token after successful authentication and return the tokens
-        //String token = jwtService.generateToken(new HashMap<>(), user.getEmail());
-        //return AuthResponse.builder().token(token).build();
-
-        String token = jwtService.generateToken(
-                new HashMap<>(),
-                user.getEmail()
-        );
-
-        return AuthResponse.builder()
-                .token(token)
-                .role(user.getRole())   
-                .build();
+        return passwordVerifier.matches(req.getPassword(), user.getPassword()).thenApply(matches -> {
+            if (!matches) {
+                throw new AuthException("Invalid email or password");
+            }
+            throttle.onSuccess(req.getEmail());
+
+            // Map<String, Object> claims = new HashMap<>();
+            // claims.put("role", user.getRole()); //add roles in the token
+
+            //generate a JWT token after successful authentication and return the tokens
+            //String token = jwtService.generateToken(new HashMap<>(), user.getEmail());
+            //return AuthResponse.builder().token(token).build();
+
+            //id, role and token version ride in the token so requests can be
+            //authorized without reading the users table
+            String token = jwtService.generateAccessToken(user);
+
+            return AuthResponse.builder()
+                    .token(token)
+                    .role(user.getRole())
+                    .build();
+        });
     }
 
 }
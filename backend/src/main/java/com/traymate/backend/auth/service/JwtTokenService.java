@@ -1,14 +1,24 @@
 package com.traymate.backend.auth.service;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
+import com.traymate.backend.auth.model.User;
+
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.HexFormat;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 //import io.jsonwebtoken.Claims;
 import java.util.function.Function;
@@ -25,9 +35,29 @@ public class JwtTokenService {
     //token expiration time (24 hours in milliseconds)
     private static final long EXPIRATION = 86400000;
 
+    //identity claims in access tokens, so requests authorize without a user lookup
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_ROLE = "role";
+    static final String CLAIM_NAME = "name";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+
+    //max tokens kept in the verified-token cache (a few per device)
+    static final int MAX_VERIFIED = 10_000;
+
+    //the HMAC key and the parser are immutable and thread-safe, so they
+    //are built once instead of on every call
+    private final Key signingKey = Keys.hmacShaKeyFor(SECRET.getBytes());
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signingKey).build();
+
+    //SHA-256(token) → claims of a token that already passed signature
+    //verification. A tablet sends the same token all day, so repeat
+    //requests skip the HMAC check and JSON parse. Entries are only served
+    //until the token's own expiry, then dropped.
+    private final Map<String, Verified> verified = new ConcurrentHashMap<>();
+
     //converts the secret string into a cryptographic signing key
     private Key getSigningKey() {
-        return Keys.hmacShaKeyFor(SECRET.getBytes());
+        return signingKey;
     }
 
     /**
@@ -47,19 +77,69 @@ public class JwtTokenService {
                 .compact();
     }
 
+    /**
+     * access token for a user: subject = email, plus id, role, name and the
+     * user's current token version. JwtAuthenticationFilter builds the
+     * principal from these claims instead of reading the users table.
+     */
+    public String generateAccessToken(User user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_ROLE, user.getRole());
+        claims.put(CLAIM_NAME, user.getFullName());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        return generateToken(claims, user.getEmail());
+    }
+
+    /**
+     * the principal described by a verified token's claims (a detached User
+     * with id, name, email and role), or empty for tokens issued before
+     * identity claims existed
+     */
+    public Optional<User> principalFrom(Claims claims) {
+        Number id = claims.get(CLAIM_USER_ID, Number.class);
+        String role = claims.get(CLAIM_ROLE, String.class);
+        if (id == null || role == null || tokenVersion(claims) == null) {
+            return Optional.empty();
+        }
+        return Optional.of(User.builder()
+                .id(id.longValue())
+                .email(claims.getSubject())
+                .fullName(claims.get(CLAIM_NAME, String.class))
+                .role(role)
+                .build());
+    }
+
+    public Integer tokenVersion(Claims claims) {
+        Number ver = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+        return ver == null ? null : ver.intValue();
+    }
+
     //extracts the email (subject) from the JWT token
     public String extractEmail(String token) {
         //return extractAllClaims(token).getSubject();
         return extractClaim(token, Claims::getSubject);
     }
 
-    //parses and validates the JWT token and returns all claims
+    //parses and validates the JWT token and returns all claims; a token
+    //verified before and not yet expired comes from the cache
     public Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSigningKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
+        String hash = sha256(token);
+        long now = System.currentTimeMillis();
+        Verified hit = verified.get(hash);
+        if (hit != null) {
+            if (hit.expiresAt > now) {
+                return hit.claims;
+            }
+            verified.remove(hash);
+        }
+
+        //throws for a bad signature, malformed or expired token — nothing is cached then
+        Claims claims = parser.parseClaimsJws(token).getBody();
+        if (claims.getExpiration() != null) {
+            remember(hash, new Verified(claims, claims.getExpiration().getTime()));
+        }
+        return claims;
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -67,4 +147,25 @@ public class JwtTokenService {
         return claimsResolver.apply(claims);
     }
 
+    private void remember(String hash, Verified entry) {
+        if (verified.size() >= MAX_VERIFIED) {
+            long now = System.currentTimeMillis();
+            verified.values().removeIf(v -> v.expiresAt <= now);
+            if (verified.size() >= MAX_VERIFIED) verified.clear();
+        }
+        verified.put(hash, entry);
+    }
+
+    //keyed by hash so the cache never holds usable bearer tokens
+    private static String sha256(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    private record Verified(Claims claims, long expiresAt) {}
+
 }
@@ -0,0 +1,116 @@
+package com.traymate.backend.auth.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.traymate.backend.auth.exception.LoginThrottledException;
+
+/**
+ * In-memory token buckets for POST /auth/login, one per account and one
+ * per client IP, checked before any BCrypt work is queued.
+ *
+ * The per-account bucket stops a stuck client (or a guesser) hammering one
+ * login; a successful login refills it. The per-IP bucket is much larger,
+ * because at shift change a whole floor of tablets can sit behind one
+ * address. Idle, full buckets are swept every few minutes.
+ */
+@Component
+public class LoginThrottle {
+
+    private final int accountBurst;
+    private final double accountPerSecond;
+    private final int ipBurst;
+    private final double ipPerSecond;
+
+    private final Map<String, Bucket> accounts = new ConcurrentHashMap<>();
+    private final Map<String, Bucket> ips = new ConcurrentHashMap<>();
+
+    public LoginThrottle(
+            @Value("${traymate.auth.login.account-burst:5}") int accountBurst,
+            @Value("${traymate.auth.login.account-per-minute:5}") int accountPerMinute,
+            @Value("${traymate.auth.login.ip-burst:60}") int ipBurst,
+            @Value("${traymate.auth.login.ip-per-minute:60}") int ipPerMinute) {
+        this.accountBurst = accountBurst;
+        this.accountPerSecond = accountPerMinute / 60.0;
+        this.ipBurst = ipBurst;
+        this.ipPerSecond = ipPerMinute / 60.0;
+    }
+
+    /** Take one attempt from both buckets, or throw LoginThrottledException. */
+    public void admit(String email, String clientIp) {
+        if (clientIp != null) {
+            long wait = ips.computeIfAbsent(clientIp, k -> new Bucket(ipBurst, ipPerSecond)).tryTake();
+            if (wait > 0) {
+                throw new LoginThrottledException("Too many login attempts from this device, try again shortly", wait);
+            }
+        }
+        long wait = accounts.computeIfAbsent(key(email), k -> new Bucket(accountBurst, accountPerSecond)).tryTake();
+        if (wait > 0) {
+            throw new LoginThrottledException("Too many login attempts for this account, try again shortly", wait);
+        }
+    }
+
+    /** A correct password clears the account's failed-attempt budget. */
+    public void onSuccess(String email) {
+        accounts.remove(key(email));
+    }
+
+    @Scheduled(fixedDelay = 5 * 60 * 1000L)
+    public void sweep() {
+        accounts.values().removeIf(Bucket::isFull);
+        ips.values().removeIf(Bucket::isFull);
+    }
+
+    private static String key(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    static final class Bucket {
+
+        private final int capacity;
+        private final double perSecond;
+        private final LongSupplier nanoClock;
+        private double tokens;
+        private long refilledAt;
+
+        Bucket(int capacity, double perSecond) {
+            this(capacity, perSecond, System::nanoTime);
+        }
+
+        /** {@code nanoClock} is System::nanoTime outside tests. */
+        Bucket(int capacity, double perSecond, LongSupplier nanoClock) {
+            this.capacity = capacity;
+            this.perSecond = perSecond;
+            this.nanoClock = nanoClock;
+            this.tokens = capacity;
+            this.refilledAt = nanoClock.getAsLong();
+        }
+
+        /** 0 if a token was taken, else whole seconds until one is available. */
+        synchronized long tryTake() {
+            refill();
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return perSecond <= 0 ? 60 : (long) Math.ceil((1 - tokens) / perSecond);
+        }
+
+        synchronized boolean isFull() {
+            refill();
+            return tokens >= capacity;
+        }
+
+        private void refill() {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(capacity, tokens + (now - refilledAt) / 1e9 * perSecond);
+            refilledAt = now;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.traymate.backend.auth.service;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import com.traymate.backend.auth.exception.LoginThrottledException;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Runs BCrypt password checks on a small dedicated pool with a bounded
+ * queue, off the servlet request threads.
+ *
+ * BCrypt is slow on purpose; a login storm at shift change used to tie up
+ * request threads and starve the order API. Now at most {@code threads}
+ * checks run at once, {@code queue} more wait, and anything beyond that is
+ * rejected straight away with a 429 instead of piling up.
+ */
+@Component
+public class PasswordVerifier {
+
+    private final PasswordEncoder encoder;
+    private final ThreadPoolExecutor pool;
+
+    public PasswordVerifier(
+            PasswordEncoder encoder,
+            @Value("${traymate.auth.login.threads:2}") int threads,
+            @Value("${traymate.auth.login.queue:32}") int queue) {
+        this.encoder = encoder;
+        AtomicInteger n = new AtomicInteger();
+        this.pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "password-verify-" + n.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    /** Completes with whether {@code raw} matches {@code encoded}. */
+    public CompletableFuture<Boolean> matches(String raw, String encoded) {
+        try {
+            return CompletableFuture.supplyAsync(() -> encoder.matches(raw, encoded), pool);
+        } catch (RejectedExecutionException e) {
+            throw new LoginThrottledException("Login service is busy, try again shortly", 1);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+}
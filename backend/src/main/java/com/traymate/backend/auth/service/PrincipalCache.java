@@ -0,0 +1,101 @@
+package com.traymate.backend.auth.service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.traymate.backend.auth.model.User;
+import com.traymate.backend.auth.model.UserSummary;
+import com.traymate.backend.auth.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Resolved principals for JwtAuthenticationFilter, keyed by token subject
+ * (email), so an authenticated request normally costs no user query.
+ *
+ * Entries are detached User objects carrying only id, name, email and role
+ * (no password hash) — the same type the rest of the app already reads
+ * from getPrincipal(). They live for the configured TTL
+ * (traymate.auth.principal-cache-ttl-seconds) and are dropped straight
+ * away on UserAccountChangedEvent, so a deleted or re-roled account stops
+ * resolving on its next request rather than at expiry.
+ *
+ * Bounded at MAX_ENTRIES; when full, expired entries are swept and, if
+ * that isn't enough, the map is cleared — cheaper than LRU bookkeeping
+ * for a staff-sized user base.
+ */
+@Service
+@RequiredArgsConstructor
+public class PrincipalCache {
+
+    static final int MAX_ENTRIES = 5_000;
+
+    private final UserRepository userRepository;
+
+    @Value("${traymate.auth.principal-cache-ttl-seconds:300}")
+    private long ttlSeconds;
+
+    private final Map<String, Entry> bySubject = new ConcurrentHashMap<>();
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public Optional<User> resolve(String subject) {
+        long now = System.currentTimeMillis();
+        Entry entry = bySubject.get(subject);
+        if (entry != null && entry.expiresAt > now) {
+            hits.incrementAndGet();
+            return Optional.of(entry.user);
+        }
+        misses.incrementAndGet();
+
+        Optional<User> loaded = userRepository.findSummaryByEmail(subject).map(PrincipalCache::toPrincipal);
+        loaded.ifPresentOrElse(
+                user -> put(subject, new Entry(user, now + ttlSeconds * 1000)),
+                () -> bySubject.remove(subject));
+        return loaded;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        if (event.email() != null) {
+            bySubject.remove(event.email());
+        }
+        if (event.userId() != null) {
+            bySubject.values().removeIf(e -> event.userId().equals(e.user.getId()));
+        }
+    }
+
+    public Stats stats() {
+        long h = hits.get();
+        long m = misses.get();
+        return new Stats(bySubject.size(), h, m, h + m == 0 ? 0 : (double) h / (h + m));
+    }
+
+    private void put(String subject, Entry entry) {
+        if (bySubject.size() >= MAX_ENTRIES) {
+            long now = System.currentTimeMillis();
+            bySubject.values().removeIf(e -> e.expiresAt <= now);
+            if (bySubject.size() >= MAX_ENTRIES) bySubject.clear();
+        }
+        bySubject.put(subject, entry);
+    }
+
+    private static User toPrincipal(UserSummary s) {
+        return User.builder()
+                .id(s.id())
+                .fullName(s.fullName())
+                .email(s.email())
+                .role(s.role())
+                .build();
+    }
+
+    public record Stats(int size, long hits, long misses, double hitRate) {}
+
+    private record Entry(User user, long expiresAt) {}
+}
@@ -0,0 +1,74 @@
+package com.traymate.backend.auth.service;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.traymate.backend.auth.repository.UserRepository;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Current token_version per user id, the revocation check for access
+ * tokens that carry id/role claims.
+ *
+ * A token is accepted only while its "ver" claim equals the user's
+ * current version. Bumping the version (role change, "sign out
+ * everywhere") or deleting the user invalidates every token issued
+ * before — without a per-request user query: each id is read from the
+ * database once, then kept current by UserAccountChangedEvent.
+ */
+@Service
+@RequiredArgsConstructor
+public class TokenVersionRegistry {
+
+    /** Version recorded for ids with no user row; never matches a token. */
+    static final int GONE = -1;
+
+    static final int MAX_ENTRIES = 50_000;
+
+    private final UserRepository userRepository;
+
+    private final Map<Long, Integer> versions = new ConcurrentHashMap<>();
+
+    public boolean isCurrent(Long userId, int tokenVersion) {
+        return current(userId) == tokenVersion;
+    }
+
+    public int current(Long userId) {
+        Integer v = versions.get(userId);
+        if (v != null) return v;
+        if (versions.size() >= MAX_ENTRIES) versions.clear();
+        int loaded = userRepository.findTokenVersion(userId).orElse(GONE);
+        versions.put(userId, loaded);
+        return loaded;
+    }
+
+    /**
+     * Invalidate every token issued to this user so far. Only drops the
+     * cached entry: re-reading here would cache the bumped version before
+     * it commits. The caller's UserAccountChangedEvent drops it again after
+     * commit, in case a concurrent request re-cached the old one meanwhile.
+     */
+    @Transactional
+    public void revoke(Long userId) {
+        if (userRepository.incrementTokenVersion(userId) == 0) {
+            throw new IllegalArgumentException("User not found");
+        }
+        versions.remove(userId);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        if (event.userId() == null) return;
+        if (event.change() == UserAccountChangedEvent.Change.DELETED) {
+            versions.put(event.userId(), GONE);
+        } else {
+            // re-read on next use
+            versions.remove(event.userId());
+        }
+    }
+}
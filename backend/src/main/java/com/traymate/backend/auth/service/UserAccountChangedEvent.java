@@ -0,0 +1,12 @@
+package com.traymate.backend.auth.service;
+
+/**
+ * Published when a user account is registered, changed or deleted, so
+ * caches of user data (UserDirectory, ...) can drop what they hold.
+ * Listeners should use @TransactionalEventListener(fallbackExecution = true):
+ * deletes happen inside a transaction, registration doesn't.
+ */
+public record UserAccountChangedEvent(Long userId, String email, Change change) {
+
+    public enum Change { REGISTERED, UPDATED, DELETED }
+}
@@ -0,0 +1,59 @@
+package com.traymate.backend.common;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Parses a {@code ?fields=} sparse-fieldset parameter for list endpoints.
+ *
+ *   ?fields=id,name,imageUrl   → just those properties per row
+ *   ?fields=summary            → a named preset the endpoint defines
+ *   (absent / blank)           → null, i.e. the endpoint's full shape
+ *
+ * The result is ordered by the endpoint's declared field list rather than
+ * by the query string, so "name,id" and "id,name" share one cache entry.
+ * Unknown names are a 400 — silently dropping them would hide client typos.
+ */
+public final class FieldSelection {
+
+    private FieldSelection() {}
+
+    public static Set<String> parse(String fields, List<String> allowed, Map<String, Set<String>> presets) {
+        if (fields == null || fields.isBlank()) return null;
+        Set<String> requested = new LinkedHashSet<>();
+        for (String raw : fields.split(",")) {
+            String name = raw.trim();
+            if (name.isEmpty()) continue;
+            Set<String> preset = presets.get(name);
+            if (preset != null) {
+                requested.addAll(preset);
+            } else if (allowed.contains(name)) {
+                requested.add(name);
+            } else {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Unknown field '" + name + "'. Allowed: " + allowed + " or " + presets.keySet());
+            }
+        }
+        if (requested.isEmpty()) return null;
+        Set<String> ordered = new LinkedHashSet<>();
+        for (String name : allowed) {
+            if (requested.contains(name)) ordered.add(name);
+        }
+        return ordered;
+    }
+
+    /** Copy of {@code row} holding only the selected keys, in selection order. */
+    public static Map<String, Object> pick(Map<String, Object> row, Set<String> fields) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String f : fields) {
+            if (row.containsKey(f)) out.put(f, row.get(f));
+        }
+        return out;
+    }
+}
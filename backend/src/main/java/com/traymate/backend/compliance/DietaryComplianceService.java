@@ -25,7 +25,7 @@ import java.util.stream.Collectors;
  *        Celiac Disease / Celiac        → gluten, wheat
  *        Lactose Intolerance / Lactose  → dairy
  *   3. Hypertension / High Blood Pressure → sodium ≤ 600mg.
- *   4. Diabetes → sugar ≤ 25g (only if meal exposes sugar).
+ *   4. Diabetes → sugar ≤ 25g (skipped when the meal's sugar is unknown).
  *   5. Soft Bite / Dysphagia → texture-modified meals only.
  *   6. Dietary restrictions (vegetarian, vegan, halal, kosher, pescatarian,
  *      low-sodium). Stored on Resident as comma-separated string when present.
@@ -132,7 +132,7 @@ public class DietaryComplianceService {
         Set<String> reportedAllergens = new HashSet<>();
         String haystack = buildHaystack(meal);
         Integer sodium = meal.getSodium(); // mg
-        Integer sugar = null; // Meal entity doesn't expose sugar yet; kept as hook for future.
+        Integer sugar = meal.getSugar(); // g, parsed from the nutrition text on write
 
         // 1. Explicit allergies
         for (String allergy : allergies) {
@@ -179,7 +179,7 @@ public class DietaryComplianceService {
                 }
             }
 
-            // 2c. Diabetes → sugar cap (skipped if meal has no sugar field)
+            // 2c. Diabetes → sugar cap (skipped if the meal's sugar is unknown)
             if ((condition.contains("diabetes") || condition.contains("diabetic"))
                 && sugar != null && sugar > DIABETES_SUGAR_LIMIT_G) {
                 violations.add(ComplianceViolation.builder()
@@ -0,0 +1,108 @@
+package com.traymate.backend.coverage;
+
+import com.traymate.backend.events.ChangeEvent;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.menu.MenuCalendar;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Re-runs coverage evaluation off the change feed instead of inline in
+ * the write path. Listens to whole relay batches so a burst of menu edits
+ * (kitchen toggling ten dishes in a row) costs one full pass, not ten.
+ *
+ *   - any meal created/updated/deleted/toggled → evaluate every resident
+ *   - midnight changed the day's offering     → evaluate every resident
+ *     (MenuCalendar's menu.day_boundary; seasonal / weekday-only dishes)
+ *   - resident created/updated                 → evaluate just those residents
+ *
+ * Translation-only edits can't change what's safe to eat, so they're ignored.
+ *
+ * The evaluation itself runs on this listener's own thread: onBatch is
+ * called on the outbox relay's scheduler thread, which must stay quick. A
+ * full pass already queued absorbs further menu changes and any pending
+ * per-resident work.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CoverageChangeListener {
+
+    private final MealCoverageAlertService service;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "coverage-eval");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean fullPassQueued = new AtomicBoolean();
+    private final Set<Integer> pendingResidents = ConcurrentHashMap.newKeySet();
+
+    @EventListener
+    public void onBatch(ChangeEvent.Batch batch) {
+        boolean menuChanged = batch.events().stream()
+            .anyMatch(e -> (e.isAbout(OutboxEvent.AGGREGATE_MEAL)
+                    && !"meal.translations_updated".equals(e.eventType()))
+                || (e.isAbout(OutboxEvent.AGGREGATE_MENU)
+                    && MenuCalendar.EVENT_DAY_BOUNDARY.equals(e.eventType())));
+        if (menuChanged) {
+            if (fullPassQueued.compareAndSet(false, true)) {
+                worker.execute(this::evaluateAll);
+            }
+            return; // full pass already covers any resident edits in this batch
+        }
+
+        Set<Integer> residentIds = new LinkedHashSet<>();
+        for (ChangeEvent e : batch.events()) {
+            if (!e.isAbout(OutboxEvent.AGGREGATE_RESIDENT) || e.aggregateId() == null) continue;
+            try {
+                residentIds.add(Integer.valueOf(e.aggregateId()));
+            } catch (NumberFormatException ignored) {
+                // not a resident id we can evaluate
+            }
+        }
+        if (!residentIds.isEmpty()) {
+            pendingResidents.addAll(residentIds);
+            worker.execute(this::evaluatePending);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void evaluateAll() {
+        fullPassQueued.set(false);
+        // reads current data, so anything queued before now is covered
+        pendingResidents.clear();
+        try {
+            int n = service.evaluateAllResidents();
+            log.debug("[CoverageChangeListener] menu changed, re-evaluated {} residents", n);
+        } catch (RuntimeException e) {
+            log.warn("[CoverageChangeListener] re-evaluation failed: {}", e.getMessage());
+        }
+    }
+
+    private void evaluatePending() {
+        for (Integer id : pendingResidents) {
+            if (!pendingResidents.remove(id)) continue;
+            try {
+                service.evaluateResident(id);
+            } catch (RuntimeException e) {
+                log.warn("[CoverageChangeListener] re-evaluation of resident {} failed: {}", id, e.getMessage());
+            }
+        }
+    }
+}
@@ -16,8 +16,8 @@ import java.util.Map;
  *   POST /coverage-alerts/{id}/acknowledge — admin marks ACTIVE → ACKNOWLEDGED
  *   POST /coverage-alerts/re-evaluate      — admin-triggered full refresh
  *
- * The evaluation itself also runs implicitly whenever a dietary profile
- * is edited or a meal's availability is toggled; this controller is the
+ * The evaluation itself also runs implicitly (via the outbox change feed)
+ * whenever a dietary profile or the menu changes; this controller is the
  * read surface plus the manual "re-check" escape hatch.
  */
 @RestController
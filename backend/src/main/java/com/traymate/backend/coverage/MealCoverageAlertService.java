@@ -9,6 +9,8 @@ import com.traymate.backend.compliance.dto.MealComplianceResult;
 import com.traymate.backend.coverage.dto.MealCoverageAlertDto;
 import com.traymate.backend.menu.Meal;
 import com.traymate.backend.menu.MealRepository;
+import com.traymate.backend.menu.MealPeriod;
+import com.traymate.backend.menu.MenuCalendar;
 
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.Authentication;
@@ -28,8 +30,8 @@ import java.util.stream.Collectors;
  *
  * Event-driven (not @Scheduled): evaluate is called whenever something
  * that could change the answer happens —
- *   - a resident's dietary profile is edited (ResidentService.updateResident)
- *   - a meal's availability is toggled (MenuService.setAvailability)
+ *   - a resident is created or edited      (outbox → CoverageChangeListener)
+ *   - a meal is added, edited, removed or toggled (outbox → CoverageChangeListener)
  *   - the admin manually triggers a batch re-evaluation
  *
  * Idempotent: calling evaluateResident twice with the same inputs won't
@@ -44,6 +46,7 @@ public class MealCoverageAlertService {
     private final ResidentRepository residentRepository;
     private final MealRepository mealRepository;
     private final DietaryComplianceService complianceService;
+    private final MenuCalendar menuCalendar;
 
     /**
      * Meal periods the kitchen actually serves and that we want to alert
@@ -151,7 +154,12 @@ public class MealCoverageAlertService {
         Optional<MealCoverageAlert> existing = repo.findFirstByResidentIdAndMealPeriodAndStatusIn(
             resident.getId(), period, OPEN_STATUSES);
 
-        List<Meal> meals = mealRepository.findByMealperiodContainingIgnoreCaseAndAvailableTrue(period);
+        // Weekday-only and out-of-season dishes don't count toward today's
+        // coverage; the time-of-day window inside the period doesn't matter.
+        List<Meal> meals = mealRepository.findByPeriodMaskInAndAvailableTrue(
+                MealPeriod.masksCovering(MealPeriod.maskOf(period))).stream()
+            .filter(menuCalendar::offeredToday)
+            .toList();
 
         // If the period has no meals at all, that's a menu-setup gap — not a
         // resident-specific dietary issue. Don't flag; flagging every
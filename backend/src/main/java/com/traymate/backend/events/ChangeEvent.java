@@ -0,0 +1,46 @@
+package com.traymate.backend.events;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * In-process view of a relayed outbox row. Published through Spring's
+ * ApplicationEventPublisher by OutboxRelay, strictly in seq order, so an
+ * {@code @EventListener} method taking a ChangeEvent sees changes in the
+ * same order the pull API hands them out.
+ */
+public record ChangeEvent(
+    long seq,
+    String aggregateType,
+    String aggregateId,
+    String eventType,
+    String payload,
+    Instant createdAt
+) {
+
+    static ChangeEvent from(OutboxEvent e) {
+        return new ChangeEvent(
+            e.getSeq(),
+            e.getAggregateType(),
+            e.getAggregateId(),
+            e.getEventType(),
+            e.getPayload(),
+            e.getCreatedAt()
+        );
+    }
+
+    public boolean isAbout(String aggregate) {
+        return aggregate.equals(aggregateType);
+    }
+
+    /**
+     * Published once per relay batch, after the individual ChangeEvents.
+     * Lets expensive subscribers (coverage re-evaluation) coalesce a burst
+     * of changes into a single pass instead of reacting to each one.
+     */
+    public record Batch(List<ChangeEvent> events) {
+        public boolean anyAbout(String aggregate) {
+            return events.stream().anyMatch(e -> e.isAbout(aggregate));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.traymate.backend.events;
+
+import com.traymate.backend.events.dto.ChangeFeedResponse;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+/**
+ * Pull API over the outbox.
+ *
+ *   GET /events?after={seq}&limit={n}
+ *
+ * Returns relayed events with seq > after, oldest first. Start with
+ * after=0 (or the lastSeq from a previous page) and keep polling with the
+ * returned cursor; hasMore=true means there's another full page waiting.
+ * Events are kept for traymate.outbox.retention-days, so a consumer that
+ * has been offline longer should reload from the normal endpoints.
+ *
+ * seq is handed out by OutboxRelay from a high-water mark kept in that
+ * JVM. That's fine for the single Render instance; with a second instance
+ * both would number the same events (the unique key on seq rejects one
+ * side's stamps), so seq is only a cursor into this deployment's feed, not
+ * a durable id. Scaling out needs the relay to claim batches with SELECT
+ * ... FOR UPDATE SKIP LOCKED and derive seq inside that transaction.
+ */
+@RestController
+@RequestMapping("/events")
+@RequiredArgsConstructor
+public class ChangeFeedController {
+
+    private static final int MAX_LIMIT = 500;
+
+    private final OutboxEventRepository repo;
+
+    @GetMapping
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    public ChangeFeedResponse feed(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "100") int limit) {
+        int size = Math.max(1, Math.min(limit, MAX_LIMIT));
+        List<ChangeFeedResponse.Item> items = repo
+            .findBySeqGreaterThanOrderBySeqAsc(after, PageRequest.of(0, size))
+            .stream()
+            .map(e -> new ChangeFeedResponse.Item(
+                e.getSeq(),
+                e.getAggregateType(),
+                e.getAggregateId(),
+                e.getEventType(),
+                e.getPayload(),
+                e.getCreatedAt()))
+            .toList();
+        long lastSeq = items.isEmpty() ? after : items.get(items.size() - 1).seq();
+        return new ChangeFeedResponse(items, lastSeq, items.size() == size);
+    }
+}
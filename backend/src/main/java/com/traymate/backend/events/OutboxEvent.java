@@ -0,0 +1,66 @@
+package com.traymate.backend.events;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.Instant;
+
+/**
+ * One row per domain change (order placed, meal toggled, resident edited…),
+ * written in the SAME transaction as the change itself. That's the whole
+ * point of the outbox: if the business write commits, the event exists;
+ * if it rolls back, so does the event. OutboxRelay then publishes rows to
+ * in-process subscribers and stamps them with a delivery sequence that
+ * the pull API (GET /events?after=) pages on.
+ *
+ * Why a separate `seq` instead of paging on `id`: IDENTITY ids are handed
+ * out at insert time, not commit time, so a slow transaction can commit
+ * id 10 after id 11 is already visible. A reader paging on id would skip
+ * 10 forever. The relay assigns seq in the order it actually sees rows,
+ * so "after=N" never misses anything.
+ */
+@Entity
+@Table(name = "outbox_event")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    /** Relay-assigned delivery order. Null until the relay has published the row. */
+    @Column(name = "seq", unique = true)
+    private Long seq;
+
+    /** "order" | "meal" | "menu" | "resident" | "override" */
+    @Column(name = "aggregate_type", nullable = false, length = 40)
+    private String aggregateType;
+
+    /** Primary key of the changed row, as a string. Null for set-level events (bulk updates). */
+    @Column(name = "aggregate_id", length = 64)
+    private String aggregateId;
+
+    /** Dotted event name, e.g. "order.status_changed". */
+    @Column(name = "event_type", nullable = false, length = 60)
+    private String eventType;
+
+    /** Small JSON object describing the change. Ids and status only — no dietary/medical text. */
+    @Column(name = "payload", columnDefinition = "TEXT")
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    @Column(name = "published_at")
+    private Instant publishedAt;
+
+    public static final String AGGREGATE_ORDER = "order";
+    public static final String AGGREGATE_MEAL = "meal";
+    public static final String AGGREGATE_MENU = "menu";
+    public static final String AGGREGATE_RESIDENT = "resident";
+    public static final String AGGREGATE_OVERRIDE = "override";
+}
@@ -0,0 +1,35 @@
+package com.traymate.backend.events;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    /** Oldest not-yet-relayed events. Backed by idx_outbox_event_unpublished. */
+    List<OutboxEvent> findByPublishedAtIsNullOrderByIdAsc(Pageable page);
+
+    /** Pull-API page: everything relayed after the caller's cursor. */
+    List<OutboxEvent> findBySeqGreaterThanOrderBySeqAsc(Long afterSeq, Pageable page);
+
+    @Query("SELECT MAX(e.seq) FROM OutboxEvent e")
+    Long findMaxSeq();
+
+    /**
+     * Bounded purge of old, already-relayed events. LIMIT keeps each
+     * statement short so the cleanup never holds locks for long.
+     */
+    @Transactional
+    @Modifying
+    @Query(value = """
+        DELETE FROM outbox_event
+         WHERE published_at IS NOT NULL AND published_at < :cutoff
+         LIMIT :limit
+    """, nativeQuery = true)
+    int deletePublishedBefore(Instant cutoff, int limit);
+}
@@ -0,0 +1,131 @@
+package com.traymate.backend.events;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Read side of the outbox. Every second (configurable) it takes the oldest
+ * unrelayed rows, stamps each with the next delivery sequence, hands them
+ * to in-process subscribers as ChangeEvents, then marks them published.
+ *
+ * Ordering: drain() is synchronized and the scheduler calls it from a
+ * single thread, so seq numbers are gap-free and subscribers see events
+ * in exactly seq order. Subscribers run on the relay thread — keep them
+ * quick, or hand work off themselves. publishEvent calls them one after
+ * another, so a subscriber that throws skips the ones after it for that
+ * event; subscribers that can fail catch and log their own errors.
+ *
+ * seq numbering assumes a single instance; see ChangeFeedController.
+ *
+ * Delivery is at-least-once: subscribers are notified before the rows are
+ * stamped, so a crash in between republishes the batch on the next run.
+ * Everything listening today (coverage re-evaluation, caches) is
+ * idempotent, so a duplicate is harmless; a missed event would not be.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class OutboxRelay {
+
+    private static final int BATCH_SIZE = 200;
+    private static final int PURGE_CHUNK = 1000;
+
+    private final OutboxEventRepository repo;
+    private final ApplicationEventPublisher publisher;
+
+    @Value("${traymate.outbox.retention-days:7}")
+    private int retentionDays;
+
+    /** Last seq handed out. Loaded lazily from the table; -1 = not loaded yet. */
+    private long lastSeq = -1;
+
+    @Scheduled(fixedDelayString = "${traymate.outbox.relay-interval-ms:1000}")
+    public void relay() {
+        try {
+            drain();
+        } catch (RuntimeException e) {
+            // Unstamped rows stay unpublished and are retried next tick.
+            // Reload the seq high-water mark in case the save never landed.
+            log.warn("[OutboxRelay] relay failed, will retry: {}", e.getMessage());
+            synchronized (this) {
+                lastSeq = -1;
+            }
+        }
+    }
+
+    /** Publish everything currently pending. Returns the number of events relayed. */
+    public synchronized int drain() {
+        if (lastSeq < 0) {
+            Long max = repo.findMaxSeq();
+            lastSeq = max == null ? 0 : max;
+        }
+
+        int relayed = 0;
+        while (true) {
+            List<OutboxEvent> batch = repo.findByPublishedAtIsNullOrderByIdAsc(PageRequest.of(0, BATCH_SIZE));
+            if (batch.isEmpty()) break;
+
+            long seq = lastSeq;
+            List<ChangeEvent> events = new ArrayList<>(batch.size());
+            for (OutboxEvent row : batch) {
+                row.setSeq(++seq);
+                events.add(ChangeEvent.from(row));
+            }
+
+            for (ChangeEvent event : events) {
+                try {
+                    publisher.publishEvent(event);
+                } catch (RuntimeException e) {
+                    // Later subscribers missed this event, but the relay and
+                    // the rest of the batch keep going.
+                    log.warn("[OutboxRelay] subscriber failed on seq={} type={}: {}",
+                        event.seq(), event.eventType(), e.getMessage());
+                }
+            }
+            try {
+                publisher.publishEvent(new ChangeEvent.Batch(List.copyOf(events)));
+            } catch (RuntimeException e) {
+                log.warn("[OutboxRelay] batch subscriber failed: {}", e.getMessage());
+            }
+
+            Instant now = Instant.now();
+            batch.forEach(row -> row.setPublishedAt(now));
+            repo.saveAll(batch);
+            lastSeq = seq;
+
+            relayed += batch.size();
+            if (batch.size() < BATCH_SIZE) break;
+        }
+        return relayed;
+    }
+
+    /**
+     * Drop relayed events older than the retention window. Consumers that
+     * fall further behind than that should resync from the source tables.
+     * Deletes in small chunks so a big backlog never turns into one huge
+     * locking statement.
+     */
+    @Scheduled(cron = "${traymate.outbox.purge-cron:0 30 3 * * *}")
+    public void purge() {
+        Instant cutoff = Instant.now().minus(Duration.ofDays(retentionDays));
+        int total = 0;
+        int deleted;
+        do {
+            deleted = repo.deletePublishedBefore(cutoff, PURGE_CHUNK);
+            total += deleted;
+        } while (deleted == PURGE_CHUNK);
+        if (total > 0) {
+            log.info("[OutboxRelay] purged {} events older than {}", total, cutoff);
+        }
+    }
+}
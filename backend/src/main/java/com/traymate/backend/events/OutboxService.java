@@ -0,0 +1,51 @@
+package com.traymate.backend.events;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Write side of the transactional outbox. Services call append(...) from
+ * inside their own @Transactional method, right after the business write,
+ * so the event row commits or rolls back together with it. Nothing is
+ * published here — OutboxRelay picks the row up after commit.
+ */
+@Service
+@RequiredArgsConstructor
+public class OutboxService {
+
+    private final OutboxEventRepository repo;
+    private final ObjectMapper objectMapper;
+
+    @Transactional
+    public void append(String aggregateType, Object aggregateId, String eventType, Map<String, Object> payload) {
+        repo.save(OutboxEvent.builder()
+            .aggregateType(aggregateType)
+            .aggregateId(aggregateId == null ? null : String.valueOf(aggregateId))
+            .eventType(eventType)
+            .payload(payload == null || payload.isEmpty() ? null : objectMapper.writeValueAsString(payload))
+            .createdAt(Instant.now())
+            .build());
+    }
+
+    /**
+     * Build a payload map from alternating key/value arguments. Unlike
+     * Map.of this keeps insertion order and tolerates null values, which
+     * show up a lot (optional cook, legacy null statuses…).
+     */
+    public static Map<String, Object> payload(Object... keyValues) {
+        if (keyValues.length % 2 != 0) {
+            throw new IllegalArgumentException("payload() needs key/value pairs");
+        }
+        Map<String, Object> map = new LinkedHashMap<>();
+        for (int i = 0; i < keyValues.length; i += 2) {
+            map.put(String.valueOf(keyValues[i]), keyValues[i + 1]);
+        }
+        return map;
+    }
+}
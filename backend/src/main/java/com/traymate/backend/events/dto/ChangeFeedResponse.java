@@ -0,0 +1,24 @@
+package com.traymate.backend.events.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Page of the change feed. Clients store {@code lastSeq} and send it back
+ * as {@code ?after=} on the next poll; an empty page returns the same
+ * cursor they sent.
+ */
+public record ChangeFeedResponse(List<Item> events, long lastSeq, boolean hasMore) {
+
+    public record Item(
+        long seq,
+        String aggregateType,
+        String aggregateId,
+        String eventType,
+        // Already JSON in the table — embed as-is instead of a quoted string.
+        @JsonRawValue String payload,
+        Instant createdAt
+    ) {}
+}
@@ -0,0 +1,51 @@
+package com.traymate.backend.images;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * One ingested image, keyed by the SHA-256 of its original bytes. The
+ * files themselves live in ImageStore's directory; this row records where
+ * they came from so a meal's external image_url is only fetched once.
+ */
+@Entity
+@Table(name = "image_asset")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ImageAsset {
+
+    @Id
+    @Column(name = "hash", length = 64, nullable = false)
+    private String hash;
+
+    /** URL it was fetched from; null for uploads. */
+    @Column(name = "source_url", length = ImageAsset.MAX_SOURCE_URL)
+    private String sourceUrl;
+
+    @Column(name = "content_type", length = 64, nullable = false)
+    private String contentType;
+
+    private Integer width;
+    private Integer height;
+
+    @Column(name = "byte_size", nullable = false)
+    private long byteSize;
+
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+
+    /** Longest source URL we remember (fits a utf8mb4 index). */
+    public static final int MAX_SOURCE_URL = 700;
+}
@@ -0,0 +1,11 @@
+package com.traymate.backend.images;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface ImageAssetRepository extends JpaRepository<ImageAsset, String> {
+
+    /** Backed by idx_image_asset_source_url. */
+    Optional<ImageAsset> findFirstBySourceUrl(String sourceUrl);
+}
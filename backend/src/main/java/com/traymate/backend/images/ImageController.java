@@ -0,0 +1,83 @@
+package com.traymate.backend.images;
+
+import com.traymate.backend.images.dto.ImageUploadResponse;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Serves ImageStore content and accepts uploads.
+ *
+ * GET /images/{hash}/{thumb|card|full|original} is public (SecurityConfig)
+ * and cacheable forever: the path names the exact bytes, so a changed
+ * picture is a different URL. Range requests are handled by Spring for
+ * Resource bodies.
+ *
+ * POST /images takes a multipart "file" from the kitchen/admin menu editor
+ * and returns the hash; the editor then sets the meal's imageUrl to
+ * /images/{hash}/full and MealImageSync links it.
+ */
+@RestController
+@RequestMapping("/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final CacheControl IMMUTABLE =
+        CacheControl.maxAge(Duration.ofDays(365)).cachePublic().immutable();
+
+    private final ImageStore imageStore;
+
+    @GetMapping("/{hash}/{size}")
+    public ResponseEntity<Resource> get(@PathVariable String hash, @PathVariable String size, WebRequest request) {
+        ImageSize imageSize = ImageSize.fromPath(size);
+        if (imageSize == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown image size");
+        }
+        ImageStore.Rendition rendition = imageStore.open(hash, imageSize)
+            .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Image not found"));
+
+        String etag = "\"" + hash + "-" + imageSize.path() + "\"";
+        if (request.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok()
+            .cacheControl(IMMUTABLE)
+            .eTag(etag)
+            .contentType(rendition.mediaType())
+            .body(rendition.resource());
+    }
+
+    @PostMapping(consumes = "multipart/form-data")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    @ResponseStatus(HttpStatus.CREATED)
+    public ImageUploadResponse upload(@RequestParam("file") MultipartFile file) throws IOException {
+        if (file.getSize() > ImageStore.MAX_BYTES) {
+            throw new ResponseStatusException(HttpStatus.PAYLOAD_TOO_LARGE, "Image too large");
+        }
+        ImageAsset asset;
+        try {
+            asset = imageStore.ingest(file.getBytes(), null);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (ImageSize size : ImageSize.values()) {
+            urls.put(size.path(), "/images/" + asset.getHash() + "/" + size.path());
+        }
+        return new ImageUploadResponse(asset.getHash(), asset.getContentType(),
+            asset.getWidth(), asset.getHeight(), urls);
+    }
+}
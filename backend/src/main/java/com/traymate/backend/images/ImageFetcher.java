@@ -0,0 +1,170 @@
+package com.traymate.backend.images;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.URLDecoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Downloads the external images meals point at, for MealImageSync.
+ *
+ * When {@code traymate.images.source-dir} is set, no network is used at
+ * all: a URL resolves to the file with the same name (last path segment)
+ * in that directory. Tests and offline dev point it at a folder of
+ * fixtures, e.g. the frontend's src/styles/pictures checkout.
+ *
+ * Otherwise imageUrl is staff-editable input, so downloads are locked
+ * down against SSRF: only hosts in {@code traymate.images.allowed-hosts},
+ * only if every address the host resolves to is public (no loopback,
+ * private, link-local, CGNAT or metadata ranges), and redirects are
+ * followed by hand — at most MAX_REDIRECTS, each hop re-checked.
+ */
+@Component
+public class ImageFetcher {
+
+    private static final Duration CONNECT_TIMEOUT = Duration.ofSeconds(5);
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(20);
+    private static final int MAX_REDIRECTS = 3;
+
+    @Value("${traymate.images.source-dir:}")
+    private String sourceDir;
+
+    private final Set<String> allowedHosts;
+
+    private final HttpClient http = HttpClient.newBuilder()
+        .connectTimeout(CONNECT_TIMEOUT)
+        .followRedirects(HttpClient.Redirect.NEVER)
+        .build();
+
+    public ImageFetcher(
+            @Value("${traymate.images.allowed-hosts:upload.wikimedia.org,images.pexels.com,cdn.pixabay.com,raw.githubusercontent.com}")
+            String allowedHosts) {
+        this.allowedHosts = Arrays.stream(allowedHosts.split(","))
+            .map(h -> h.trim().toLowerCase(Locale.ROOT))
+            .filter(h -> !h.isEmpty())
+            .collect(Collectors.toUnmodifiableSet());
+    }
+
+    public byte[] fetch(String url) throws IOException {
+        URI uri;
+        try {
+            uri = URI.create(url.trim());
+        } catch (IllegalArgumentException e) {
+            throw new IOException("Bad image URL: " + url, e);
+        }
+        return sourceDir == null || sourceDir.isBlank() ? download(uri) : readLocal(uri);
+    }
+
+    private byte[] readLocal(URI uri) throws IOException {
+        String path = uri.getRawPath() == null ? "" : uri.getRawPath();
+        String name = URLDecoder.decode(path.substring(path.lastIndexOf('/') + 1), StandardCharsets.UTF_8);
+        Path dir = Path.of(sourceDir).toAbsolutePath().normalize();
+        Path file = dir.resolve(name).normalize();
+        if (name.isBlank() || !file.startsWith(dir) || !Files.isRegularFile(file)) {
+            throw new IOException("No local image for " + uri + " in " + dir);
+        }
+        if (Files.size(file) > ImageStore.MAX_BYTES) {
+            throw new IOException("Image too large: " + file);
+        }
+        return Files.readAllBytes(file);
+    }
+
+    private byte[] download(URI uri) throws IOException {
+        URI current = uri;
+        for (int hop = 0; ; hop++) {
+            checkAllowed(current);
+            HttpRequest request = HttpRequest.newBuilder(current)
+                .timeout(REQUEST_TIMEOUT)
+                .header("User-Agent", "TrayMate-ImageFetcher/1.0")
+                .header("Accept", "image/*")
+                .GET()
+                .build();
+            try {
+                HttpResponse<InputStream> response = http.send(request, HttpResponse.BodyHandlers.ofInputStream());
+                try (InputStream body = response.body()) {
+                    int status = response.statusCode();
+                    if (status >= 300 && status < 400) {
+                        String location = response.headers().firstValue("Location")
+                            .orElseThrow(() -> new IOException("HTTP " + status + " without Location fetching " + uri));
+                        if (hop >= MAX_REDIRECTS) {
+                            throw new IOException("Too many redirects fetching " + uri);
+                        }
+                        current = current.resolve(location.trim());
+                        continue;
+                    }
+                    if (status != 200) {
+                        throw new IOException("HTTP " + status + " fetching " + current);
+                    }
+                    // Read one byte past the cap so an oversized image fails
+                    // here instead of being buffered whole.
+                    byte[] bytes = body.readNBytes(ImageStore.MAX_BYTES + 1);
+                    if (bytes.length > ImageStore.MAX_BYTES) {
+                        throw new IOException("Image too large: " + current);
+                    }
+                    return bytes;
+                }
+            } catch (IllegalArgumentException e) {
+                throw new IOException("Bad redirect fetching " + uri, e);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted fetching " + uri, e);
+            }
+        }
+    }
+
+    /** Scheme, host allow-list and resolved addresses — applied to every hop. */
+    private void checkAllowed(URI uri) throws IOException {
+        String scheme = uri.getScheme();
+        if (!"https".equalsIgnoreCase(scheme) && !"http".equalsIgnoreCase(scheme)) {
+            throw new IOException("Unsupported image URL scheme: " + uri);
+        }
+        if (uri.getRawUserInfo() != null) {
+            throw new IOException("Image URL must not carry credentials: " + uri);
+        }
+        String host = uri.getHost() == null ? "" : uri.getHost().toLowerCase(Locale.ROOT);
+        if (!allowedHosts.contains(host)) {
+            throw new IOException("Image host not allowed: " + host);
+        }
+        for (InetAddress address : InetAddress.getAllByName(host)) {
+            if (!isPublic(address)) {
+                throw new IOException("Image host " + host + " resolves to non-public address " + address.getHostAddress());
+            }
+        }
+    }
+
+    static boolean isPublic(InetAddress a) {
+        if (a.isAnyLocalAddress() || a.isLoopbackAddress() || a.isLinkLocalAddress()
+                || a.isSiteLocalAddress() || a.isMulticastAddress()) {
+            return false;
+        }
+        byte[] b = a.getAddress();
+        if (a instanceof Inet6Address) {
+            // fc00::/7 unique-local
+            return (b[0] & 0xfe) != 0xfc;
+        }
+        int first = b[0] & 0xff;
+        int second = b[1] & 0xff;
+        // 0/8, 100.64/10 (CGNAT), 192.0.0/24, 198.18/15 (benchmarking), 240/4 reserved
+        return first != 0
+            && !(first == 100 && second >= 64 && second < 128)
+            && !(first == 192 && second == 0 && (b[2] & 0xff) == 0)
+            && !(first == 198 && (second == 18 || second == 19))
+            && first < 240;
+    }
+}
@@ -0,0 +1,38 @@
+package com.traymate.backend.images;
+
+import java.util.Locale;
+
+/**
+ * Renditions kept for every image, addressed as /images/{hash}/{size}.
+ * Widths are the longest edge in pixels; images smaller than a size are
+ * never upscaled. ORIGINAL is the ingested bytes untouched.
+ */
+public enum ImageSize {
+    THUMB(160),     // menu grid tiles, order lists
+    CARD(480),      // meal detail sheet
+    FULL(1280),     // full-screen view
+    ORIGINAL(0);
+
+    private final int maxEdge;
+
+    ImageSize(int maxEdge) {
+        this.maxEdge = maxEdge;
+    }
+
+    public int maxEdge() {
+        return maxEdge;
+    }
+
+    public String path() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+
+    /** Null for anything that isn't a size name. */
+    public static ImageSize fromPath(String raw) {
+        if (raw == null) return null;
+        for (ImageSize s : values()) {
+            if (s.path().equalsIgnoreCase(raw)) return s;
+        }
+        return null;
+    }
+}
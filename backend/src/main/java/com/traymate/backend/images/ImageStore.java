@@ -0,0 +1,314 @@
+package com.traymate.backend.images;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.FileSystemResource;
+import org.springframework.core.io.Resource;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Content-addressed image store on local disk.
+ *
+ *   {traymate.images.dir}/ab/abcdef…/original     ingested bytes, as-is
+ *                                   /thumb.jpg    160px longest edge
+ *                                   /card.jpg     480px
+ *                                   /full.jpg     1280px
+ *
+ * The directory name is the SHA-256 of the original bytes, so the same
+ * picture uploaded twice or referenced by two meals is stored once, and a
+ * URL built from the hash never changes meaning — which is what lets
+ * ImageController serve everything as immutable.
+ *
+ * Renditions are generated once at ingest. Formats ImageIO can't decode
+ * (WebP on a stock JDK) are kept as originals only and served as such for
+ * every size.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ImageStore {
+
+    /** Largest original we accept, upload or fetch. */
+    public static final int MAX_BYTES = 10 * 1024 * 1024;
+
+    /**
+     * Largest image we decode, in pixels. A small compressed file can
+     * declare huge dimensions; decoding it would allocate width × height × 4
+     * bytes, so the header is checked before any pixels are read.
+     */
+    public static final long MAX_PIXELS = 40_000_000L;
+
+    private static final Pattern HASH = Pattern.compile("^[0-9a-f]{64}$");
+    private static final String ORIGINAL_FILE = "original";
+    private static final float JPEG_QUALITY = 0.82f;
+
+    private final ImageAssetRepository assetRepository;
+
+    @Value("${traymate.images.dir:data/images}")
+    private Path root;
+
+    /** A file to send plus its media type. */
+    public record Rendition(Resource resource, MediaType mediaType) {}
+
+    public static boolean isHash(String value) {
+        return value != null && HASH.matcher(value).matches();
+    }
+
+    /**
+     * Store {@code bytes} (and its renditions) unless already present.
+     * Throws IllegalArgumentException for empty, oversized or non-image
+     * input.
+     */
+    public ImageAsset ingest(byte[] bytes, String sourceUrl) {
+        if (bytes == null || bytes.length == 0) {
+            throw new IllegalArgumentException("Image is empty");
+        }
+        if (bytes.length > MAX_BYTES) {
+            throw new IllegalArgumentException("Image exceeds " + (MAX_BYTES / (1024 * 1024)) + " MB");
+        }
+        String contentType = sniffContentType(bytes);
+        if (contentType == null) {
+            throw new IllegalArgumentException("Unsupported image type (expected JPEG, PNG, GIF or WebP)");
+        }
+
+        String hash = sha256(bytes);
+        Optional<ImageAsset> existing = assetRepository.findById(hash);
+        if (existing.isPresent() && isStored(hash)) {
+            ImageAsset asset = existing.get();
+            if (asset.getSourceUrl() == null && fitsSourceColumn(sourceUrl)) {
+                asset.setSourceUrl(sourceUrl);
+                assetRepository.save(asset);
+            }
+            return asset;
+        }
+
+        Integer width = null;
+        Integer height = null;
+        try {
+            BufferedImage image = decodeBounded(bytes);
+
+            Path dir = dir(hash);
+            Files.createDirectories(dir);
+            writeAtomically(dir.resolve(ORIGINAL_FILE), out -> out.write(bytes));
+
+            if (image != null) {
+                width = image.getWidth();
+                height = image.getHeight();
+                for (ImageSize size : ImageSize.values()) {
+                    if (size == ImageSize.ORIGINAL) continue;
+                    BufferedImage scaled = scaleToFit(image, size.maxEdge());
+                    writeAtomically(dir.resolve(size.path() + ".jpg"), out -> writeJpeg(scaled, out));
+                }
+            } else {
+                log.info("[ImageStore] {} ({}) can't be decoded here; serving original for all sizes",
+                    hash.substring(0, 12), contentType);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to store image " + hash, e);
+        }
+
+        return assetRepository.save(ImageAsset.builder()
+            .hash(hash)
+            .sourceUrl(fitsSourceColumn(sourceUrl) ? sourceUrl : null)
+            .contentType(contentType)
+            .width(width)
+            .height(height)
+            .byteSize(bytes.length)
+            .createdAt(Instant.now())
+            .build());
+    }
+
+    /**
+     * Decode with a pixel cap: dimensions come from the header via an
+     * ImageReader, and anything over MAX_PIXELS is rejected before decoding.
+     * Null when no installed reader handles the format.
+     */
+    private static BufferedImage decodeBounded(byte[] bytes) throws IOException {
+        try (ImageInputStream in = ImageIO.createImageInputStream(new ByteArrayInputStream(bytes))) {
+            if (in == null) return null;
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(in);
+            if (!readers.hasNext()) return null;
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(in, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > MAX_PIXELS) {
+                    throw new IllegalArgumentException("Image dimensions too large ("
+                        + reader.getWidth(0) + "x" + reader.getHeight(0) + ")");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /** The file for one size, falling back to the original; empty if the hash is unknown. */
+    public Optional<Rendition> open(String hash, ImageSize size) {
+        if (!isHash(hash)) return Optional.empty();
+        Path dir = dir(hash);
+        if (size != ImageSize.ORIGINAL) {
+            Path scaled = dir.resolve(size.path() + ".jpg");
+            if (Files.isRegularFile(scaled)) {
+                return Optional.of(new Rendition(new FileSystemResource(scaled), MediaType.IMAGE_JPEG));
+            }
+        }
+        Path original = dir.resolve(ORIGINAL_FILE);
+        if (!Files.isRegularFile(original)) return Optional.empty();
+        MediaType type = assetRepository.findById(hash)
+            .map(a -> MediaType.parseMediaType(a.getContentType()))
+            .orElse(MediaType.APPLICATION_OCTET_STREAM);
+        return Optional.of(new Rendition(new FileSystemResource(original), type));
+    }
+
+    /**
+     * Whether the original file for {@code hash} is on disk. image_asset
+     * rows outlive the files when the disk is wiped (every Render deploy),
+     * so a row alone doesn't mean the image can be served.
+     */
+    public boolean isStored(String hash) {
+        return isHash(hash) && Files.isRegularFile(dir(hash).resolve(ORIGINAL_FILE));
+    }
+
+    public static boolean fitsSourceColumn(String sourceUrl) {
+        return sourceUrl != null && sourceUrl.length() <= ImageAsset.MAX_SOURCE_URL;
+    }
+
+    // ── Helpers ────────────────────────────────────────────────────────
+
+    private Path dir(String hash) {
+        return root.resolve(hash.substring(0, 2)).resolve(hash);
+    }
+
+    private interface Writer {
+        void write(OutputStream out) throws IOException;
+    }
+
+    // Write to a temp file and move into place so a crash mid-write never
+    // leaves a truncated file under a hash that promises complete content.
+    private static void writeAtomically(Path target, Writer writer) throws IOException {
+        Path tmp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(tmp)) {
+                writer.write(out);
+            }
+            Files.move(tmp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // Halve repeatedly, then one final bilinear step: much less aliasing
+    // than a single big bilinear jump and far cheaper than area averaging.
+    private static BufferedImage scaleToFit(BufferedImage src, int maxEdge) {
+        int w = src.getWidth();
+        int h = src.getHeight();
+        double scale = Math.min(1.0, (double) maxEdge / Math.max(w, h));
+        int targetW = Math.max(1, (int) Math.round(w * scale));
+        int targetH = Math.max(1, (int) Math.round(h * scale));
+
+        BufferedImage current = flatten(src);
+        while (current.getWidth() / 2 >= targetW && current.getHeight() / 2 >= targetH) {
+            current = draw(current, current.getWidth() / 2, current.getHeight() / 2);
+        }
+        if (current.getWidth() != targetW || current.getHeight() != targetH) {
+            current = draw(current, targetW, targetH);
+        }
+        return current;
+    }
+
+    /** RGB copy on white — JPEG has no alpha, and transparent PNGs would go black. */
+    private static BufferedImage flatten(BufferedImage src) {
+        if (src.getType() == BufferedImage.TYPE_INT_RGB) return src;
+        BufferedImage rgb = new BufferedImage(src.getWidth(), src.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = rgb.createGraphics();
+        try {
+            g.setColor(Color.WHITE);
+            g.fillRect(0, 0, src.getWidth(), src.getHeight());
+            g.drawImage(src, 0, 0, null);
+        } finally {
+            g.dispose();
+        }
+        return rgb;
+    }
+
+    private static BufferedImage draw(BufferedImage src, int w, int h) {
+        BufferedImage out = new BufferedImage(w, h, BufferedImage.TYPE_INT_RGB);
+        Graphics2D g = out.createGraphics();
+        try {
+            g.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            g.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+            g.drawImage(src, 0, 0, w, h, null);
+        } finally {
+            g.dispose();
+        }
+        return out;
+    }
+
+    private static void writeJpeg(BufferedImage image, OutputStream out) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            writer.setOutput(ios);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+
+    /** Magic-number check; the client's Content-Type / file extension isn't trusted. */
+    private static String sniffContentType(byte[] b) {
+        if (b.length >= 3 && (b[0] & 0xFF) == 0xFF && (b[1] & 0xFF) == 0xD8 && (b[2] & 0xFF) == 0xFF) {
+            return MediaType.IMAGE_JPEG_VALUE;
+        }
+        if (b.length >= 8 && (b[0] & 0xFF) == 0x89 && b[1] == 'P' && b[2] == 'N' && b[3] == 'G') {
+            return MediaType.IMAGE_PNG_VALUE;
+        }
+        if (b.length >= 6 && b[0] == 'G' && b[1] == 'I' && b[2] == 'F' && b[3] == '8') {
+            return MediaType.IMAGE_GIF_VALUE;
+        }
+        if (b.length >= 12 && b[0] == 'R' && b[1] == 'I' && b[2] == 'F' && b[3] == 'F'
+                && b[8] == 'W' && b[9] == 'E' && b[10] == 'B' && b[11] == 'P') {
+            return "image/webp";
+        }
+        return null;
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(bytes));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
+        }
+    }
+}
@@ -0,0 +1,171 @@
+package com.traymate.backend.images;
+
+import com.traymate.backend.events.ChangeEvent;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.menu.Meal;
+import com.traymate.backend.menu.MealRepository;
+import com.traymate.backend.menu.MenuCache;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps meals.image_key pointing at the ImageStore copy of each meal's
+ * image_url, so tablets can load /images/{key}/thumb from our own host
+ * instead of full-size JPEGs from GitHub Raw / Pexels / Pixabay.
+ *
+ * Runs after the startup seeders and again whenever a meal change comes
+ * through the outbox feed. Each external URL that downloads successfully
+ * is fetched once — after that it's matched to its image_asset row by
+ * source_url, as long as the files are still on disk (a deploy wipes them
+ * but not the rows; the URL is then fetched again). A URL that fails is retried with exponential backoff
+ * (RETRY_MIN up to RETRY_MAX, held in memory), so a broken image_url
+ * doesn't cost a download timeout on every meal change. An image_url that
+ * already points at /images/{hash}/… (an upload) is linked directly.
+ *
+ * Work happens on its own single thread: a cold start can mean dozens of
+ * downloads, and neither the relay nor the scheduler pool should wait on
+ * them. image_url itself is never rewritten, so older app builds keep
+ * working.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MealImageSync {
+
+    private static final Pattern LOCAL_URL = Pattern.compile("/images/([0-9a-f]{64})(?:/|$)");
+
+    static final Duration RETRY_MIN = Duration.ofMinutes(5);
+    static final Duration RETRY_MAX = Duration.ofHours(24);
+
+    private final MealRepository mealRepository;
+    private final ImageAssetRepository assetRepository;
+    private final ImageStore imageStore;
+    private final ImageFetcher imageFetcher;
+    private final MenuCache menuCache;
+
+    @Value("${traymate.images.sync-enabled:true}")
+    private boolean enabled;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "meal-image-sync");
+        t.setDaemon(true);
+        return t;
+    });
+
+    /** Collapses a burst of triggers into one queued pass. */
+    private final AtomicBoolean queued = new AtomicBoolean();
+
+    /** URL → when it may be fetched again after failing. */
+    private final Map<String, Failure> failures = new ConcurrentHashMap<>();
+
+    private record Failure(int attempts, Instant retryAt) {}
+
+    @Order(3)
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestSync();
+    }
+
+    @EventListener
+    public void onBatch(ChangeEvent.Batch batch) {
+        if (batch.anyAbout(OutboxEvent.AGGREGATE_MEAL)) {
+            requestSync();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void requestSync() {
+        if (enabled && queued.compareAndSet(false, true)) {
+            worker.execute(this::sync);
+        }
+    }
+
+    private void sync() {
+        queued.set(false);
+        int linked = 0;
+        int failed = 0;
+        int deferred = 0;
+        try {
+            for (Meal meal : menuCache.current().meals()) {
+                String url = meal.getImageUrl();
+                Failure previous = url == null ? null : failures.get(url);
+                if (previous != null && Instant.now().isBefore(previous.retryAt())) {
+                    deferred++;
+                    continue;   // still backing off; keep whatever key it had
+                }
+                String key;
+                try {
+                    key = keyFor(url);
+                    if (previous != null) failures.remove(url);
+                } catch (IOException | RuntimeException e) {
+                    recordFailure(url, previous);
+                    log.warn("[MealImageSync] meal {}: couldn't ingest {}: {}", meal.getId(), url, e.getMessage());
+                    failed++;
+                    continue;   // keep whatever key it had
+                }
+                if (!Objects.equals(key, meal.getImageKey())) {
+                    mealRepository.updateImageKey(meal.getId(), key);
+                    linked++;
+                }
+            }
+        } catch (RuntimeException e) {
+            log.warn("[MealImageSync] sync aborted: {}", e.getMessage());
+        }
+        if (linked > 0) {
+            menuCache.invalidate();
+        }
+        if (linked > 0 || failed > 0) {
+            log.info("[MealImageSync] linked={}, failed={}, deferred={}", linked, failed, deferred);
+        }
+    }
+
+    // 5 min, 10 min, 20 min … capped at a day
+    private void recordFailure(String url, Failure previous) {
+        if (url == null) return;
+        int attempts = previous == null ? 1 : previous.attempts() + 1;
+        Duration wait = RETRY_MIN.multipliedBy(1L << Math.min(attempts - 1, 20));
+        if (wait.compareTo(RETRY_MAX) > 0) wait = RETRY_MAX;
+        failures.put(url, new Failure(attempts, Instant.now().plus(wait)));
+    }
+
+    private String keyFor(String url) throws IOException {
+        if (url == null || url.isBlank()) return null;
+        Matcher local = LOCAL_URL.matcher(url);
+        if (local.find()) {
+            // an upload has no source to fetch again; if its files are
+            // gone the key would only ever 404
+            String hash = local.group(1);
+            return imageStore.isStored(hash) ? hash : null;
+        }
+        if (!ImageStore.fitsSourceColumn(url)) return null;
+        var known = assetRepository.findFirstBySourceUrl(url);
+        if (known.isPresent() && imageStore.isStored(known.get().getHash())) {
+            return known.get().getHash();
+        }
+        // new URL, or the row survived a wiped disk: fetch and store again
+        return imageStore.ingest(imageFetcher.fetch(url), url).getHash();
+    }
+}
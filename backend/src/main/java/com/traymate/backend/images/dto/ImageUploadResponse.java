@@ -0,0 +1,12 @@
+package com.traymate.backend.images.dto;
+
+import java.util.Map;
+
+/** POST /images result: the content hash and the URL of each rendition. */
+public record ImageUploadResponse(
+    String hash,
+    String contentType,
+    Integer width,
+    Integer height,
+    Map<String, String> urls
+) {}
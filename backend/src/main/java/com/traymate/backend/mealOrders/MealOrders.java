@@ -58,6 +58,16 @@ public class MealOrders {
     @Column(name = "created_at")
     private LocalDateTime createdAt;
 
+    // Optimistic-lock counter. Every write bumps it and Hibernate adds
+    // `AND version = ?` to the UPDATE, so two kitchen tablets tapping the
+    // same tray (or a resident edit racing a "preparing" tap) can't
+    // silently overwrite each other — the loser gets a 409 instead of
+    // waiting on a row lock. Clients may echo it back on PUT to assert
+    // they're editing the copy they last saw.
+    @Version
+    @Column(name = "version", nullable = false)
+    private Long version;
+
     @PrePersist
     public void onCreate() {
         if (createdAt == null) {
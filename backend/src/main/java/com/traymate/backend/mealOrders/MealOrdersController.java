@@ -69,6 +69,8 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
             // We use the ID from the URL to ensure we hit the right record
             MealOrders saved = mealOrdersService.updateExistingOrderById(id, updatedOrder);
             return ResponseEntity.ok(saved);
+        } catch (OrderConflictException e) {
+            return conflict(e);
         } catch (ComplianceBlockedException e) {
             ErrorResponse error = new ErrorResponse(
                 "COMPLIANCE_BLOCKED",
@@ -91,6 +93,11 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
      * KitchenDashboard.apiSetStatusSingle when staff taps a tray's
      * status pill. Without this endpoint the call 404'd and the
      * resident never saw "preparing"/"ready"/"completed" propagate.
+     *
+     * `version` is optional: when the tablet sends the version it last
+     * rendered, a newer write from another tablet comes back as 409
+     * VERSION_CONFLICT. Illegal moves (e.g. completed → preparing) are
+     * 409 ILLEGAL_TRANSITION.
      */
     @PutMapping("/status/single")
     public ResponseEntity<?> setStatusSingle(
@@ -98,15 +105,18 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
             @RequestParam String mealOfDay,
             @RequestParam String date,
             @RequestParam String newStatus,
-            @RequestParam(required = false) String cook) {
+            @RequestParam(required = false) String cook,
+            @RequestParam(required = false) Long version) {
         try {
             LocalDate localDate = LocalDate.parse(date);
             MealOrders updated = mealOrdersService.setStatusForSingleOrder(
-                userId, mealOfDay, localDate, newStatus, cook);
+                userId, mealOfDay, localDate, newStatus, cook, version);
             if (updated == null) {
                 return ResponseEntity.notFound().build();
             }
             return ResponseEntity.ok(updated);
+        } catch (OrderConflictException e) {
+            return conflict(e);
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -114,7 +124,9 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
 
     /**
      * Kitchen-side bulk status update for a whole meal period at once
-     * (e.g. "mark all of today's breakfasts as ready").
+     * (e.g. "mark all of today's breakfasts as ready"). Orders that can't
+     * legally make the move are left alone and reported as `skipped`
+     * (a count) and `skippedIds`.
      */
     @PutMapping("/status/bulk")
     public ResponseEntity<?> setStatusBulk(
@@ -124,9 +136,12 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
             @RequestParam(required = false) String cook) {
         try {
             LocalDate localDate = LocalDate.parse(date);
-            int n = mealOrdersService.setStatusBulkByMealAndDate(
+            MealOrdersService.BulkStatusResult result = mealOrdersService.setStatusBulkByMealAndDate(
                 mealOfDay, localDate, newStatus, cook);
-            return ResponseEntity.ok().body(java.util.Map.of("updated", n));
+            return ResponseEntity.ok().body(java.util.Map.of(
+                "updated", result.updated(),
+                "skipped", result.skipped(),
+                "skippedIds", result.skippedIds()));
         } catch (Exception e) {
             return ResponseEntity.badRequest().body(e.getMessage());
         }
@@ -142,5 +157,10 @@ public ResponseEntity<?> placeOrder(@RequestBody MealOrders newOrder) {
       return mealOrdersService.getOrdersByMealAndDate(mealOfDay, localDate);
     }
 
+    private ResponseEntity<ErrorResponse> conflict(OrderConflictException e) {
+        ErrorResponse error = new ErrorResponse(e.getErrorCode(), e.getMessage(), e.getCurrent());
+        return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+    }
+
     public static record ErrorResponse(String errorCode, String message, Object data) {}
 }
@@ -1,8 +1,11 @@
 package com.traymate.backend.mealOrders;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 
 import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -24,4 +27,41 @@ public interface MealOrdersRepository extends JpaRepository<MealOrders, Integer>
     // hang around with a userId pointing at a row that no longer exists,
     // which surfaces as stale "remaining meals" on next admin load.
     long deleteByUserId(String userId);
+
+    /**
+     * Compare-and-set status flip for a whole meal period. Only rows whose
+     * current status is in {@code fromStatuses} move, so the state machine
+     * is enforced by the WHERE clause instead of a read-modify-write loop,
+     * and each touched row's version is bumped so concurrent single-order
+     * writers holding the old version get a conflict. {@code cook} is only
+     * written when non-null.
+     */
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE MealOrders o
+           SET o.status = :newStatus,
+               o.cook = COALESCE(:cook, o.cook),
+               o.version = o.version + 1
+         WHERE o.mealOfDay = :mealOfDay
+           AND o.date = :date
+           AND (o.status IN :fromStatuses OR (o.status IS NULL AND :includeNull = true))
+    """)
+    int transitionStatusForMealAndDate(
+        String mealOfDay,
+        LocalDate date,
+        Collection<String> fromStatuses,
+        boolean includeNull,
+        String newStatus,
+        String cook
+    );
+
+    /** Orders for a meal period not (yet) in {@code status} — what a bulk move skipped. */
+    @Query("""
+        SELECT o.id FROM MealOrders o
+         WHERE o.mealOfDay = :mealOfDay
+           AND o.date = :date
+           AND (o.status IS NULL OR o.status <> :status)
+         ORDER BY o.id
+    """)
+    List<Integer> findIdsNotInStatus(String mealOfDay, LocalDate date, String status);
 }
\ No newline at end of file
@@ -4,6 +4,8 @@ import com.traymate.backend.admin.resident.Resident;
 import com.traymate.backend.admin.resident.ResidentRepository;
 import com.traymate.backend.compliance.DietaryComplianceService;
 import com.traymate.backend.compliance.dto.ComplianceResult;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
 import com.traymate.backend.menu.Meal;
 import com.traymate.backend.menu.MealRepository;
 import com.traymate.backend.override.MedicalOverrideRequest;
@@ -11,7 +13,11 @@ import com.traymate.backend.override.MedicalOverrideService;
 import lombok.RequiredArgsConstructor;
 
 import java.util.Optional;
+import java.util.Set;
+
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
@@ -28,6 +34,7 @@ public class MealOrdersService {
     private final ResidentRepository residentRepository;
     private final DietaryComplianceService complianceService;
     private final MedicalOverrideService overrideService;
+    private final OutboxService outbox;
 
     // Facility-local timezone used when the client doesn't send a date.
     // Render hosts run in UTC, so plain LocalDate.now() returns TOMORROW
@@ -38,6 +45,9 @@ public class MealOrdersService {
     private static final ZoneId FACILITY_ZONE = ZoneId.of("America/Los_Angeles");
 
     //updated logic to check at see if an order has already ben placed
+    // Transactional so a consumed override, the order row and its outbox
+    // event either all land or none do.
+    @Transactional
     public MealOrders saveOrder(MealOrders order) {
         if (order.getDate() == null) {
             order.setDate(LocalDate.now(FACILITY_ZONE));
@@ -77,8 +87,18 @@ public class MealOrdersService {
         //    with details so the controller can surface 422 + violation list.
         enforceCompliance(order);
 
-        order.setStatus("pending");
-        return mealOrdersRepository.save(order);
+        order.setStatus(OrderStatus.PENDING);
+        // New rows always start unversioned; a version echoed in the POST
+        // body would make Spring Data treat the order as an existing row.
+        order.setVersion(null);
+        MealOrders saved = mealOrdersRepository.save(order);
+        outbox.append(OutboxEvent.AGGREGATE_ORDER, saved.getId(), "order.created",
+            OutboxService.payload(
+                "userId", saved.getUserId(),
+                "mealOfDay", saved.getMealOfDay(),
+                "date", String.valueOf(saved.getDate()),
+                "status", saved.getStatus()));
+        return saved;
     }
 
     /**
@@ -145,47 +165,106 @@ public class MealOrdersService {
      * place-order conflict logic uses. Returns the updated row, or null
      * if no order matched. `cook` is optional and only persisted when
      * the new status is "preparing".
+     *
+     * The move is checked against OrderStatus's transition table and the
+     * write is version-checked, so a stale tablet gets an
+     * OrderConflictException (409) instead of clobbering a newer status.
+     * {@code expectedVersion} is the version the caller last saw; null
+     * skips that check and relies on the @Version guard alone.
      */
+    @Transactional
     public MealOrders setStatusForSingleOrder(
             String userId, String mealOfDay, LocalDate date,
-            String newStatus, String cook) {
+            String newStatus, String cook, Long expectedVersion) {
+        String target = requireKnownStatus(newStatus);
         MealOrders existing = mealOrdersRepository
             .findByUserIdAndMealOfDayAndDate(userId, mealOfDay, date)
             .orElse(null);
         if (existing == null) return null;
-        existing.setStatus(newStatus);
-        if (cook != null && !cook.isBlank() && "preparing".equalsIgnoreCase(newStatus)) {
+        assertVersion(existing, expectedVersion);
+
+        if (!OrderStatus.canTransition(existing.getStatus(), target)) {
+            throw new OrderConflictException(
+                OrderConflictException.ILLEGAL_TRANSITION,
+                "Cannot move order from " + existing.getStatus() + " to " + target,
+                existing);
+        }
+
+        boolean recordCook = cook != null && !cook.isBlank() && OrderStatus.PREPARING.equals(target);
+        if (target.equals(OrderStatus.normalize(existing.getStatus())) && !recordCook) {
+            // Second tablet tapped the same status — nothing to write.
+            return existing;
+        }
+
+        String previous = existing.getStatus();
+        existing.setStatus(target);
+        if (recordCook) {
             existing.setCook(cook.trim());
         }
-        return mealOrdersRepository.save(existing);
+        MealOrders saved = saveOrConflict(existing);
+        outbox.append(OutboxEvent.AGGREGATE_ORDER, saved.getId(), "order.status_changed",
+            OutboxService.payload(
+                "userId", saved.getUserId(),
+                "mealOfDay", saved.getMealOfDay(),
+                "date", String.valueOf(saved.getDate()),
+                "from", previous,
+                "to", target,
+                "version", saved.getVersion()));
+        return saved;
     }
 
     /**
      * Kitchen-side bulk update: flip every order for a meal-period+date
      * to the same status in one shot. Used by the "Mark all as ready"
      * affordance so staff don't have to tap each tray individually.
+     *
+     * Runs as a single conditional UPDATE: only orders whose current
+     * status can legally reach {@code newStatus} move, and every moved
+     * row's version is bumped. Orders left behind (e.g. still pending on
+     * "mark all ready") come back by id so the UI can point at them;
+     * orders already in the target status count as neither.
+     * No rows are read or locked up front, and the whole tray run is
+     * announced as ONE set-level outbox event rather than one per order.
      */
-    public int setStatusBulkByMealAndDate(
+    @Transactional
+    public BulkStatusResult setStatusBulkByMealAndDate(
             String mealOfDay, LocalDate date,
             String newStatus, String cook) {
-        List<MealOrders> matches = mealOrdersRepository.findByMealOfDayAndDate(mealOfDay, date);
+        String target = requireKnownStatus(newStatus);
+        Set<String> sources = OrderStatus.sourcesOf(target);
+        if (sources.isEmpty()) {
+            return new BulkStatusResult(0, mealOrdersRepository.findIdsNotInStatus(mealOfDay, date, target));
+        }
         boolean recordCook = cook != null && !cook.isBlank()
-            && "preparing".equalsIgnoreCase(newStatus);
-        for (MealOrders o : matches) {
-            o.setStatus(newStatus);
-            if (recordCook) o.setCook(cook.trim());
+            && OrderStatus.PREPARING.equals(target);
+        int updated = mealOrdersRepository.transitionStatusForMealAndDate(
+            mealOfDay, date, sources, sources.contains(OrderStatus.PENDING),
+            target, recordCook ? cook.trim() : null);
+        if (updated > 0) {
+            outbox.append(OutboxEvent.AGGREGATE_ORDER, null, "order.bulk_status_changed",
+                OutboxService.payload(
+                    "mealOfDay", mealOfDay,
+                    "date", String.valueOf(date),
+                    "to", target,
+                    "updated", updated));
         }
-        mealOrdersRepository.saveAll(matches);
-        return matches.size();
+        return new BulkStatusResult(updated, mealOrdersRepository.findIdsNotInStatus(mealOfDay, date, target));
     }
+
+    @Transactional
     public MealOrders updateExistingOrderById(Integer id, MealOrders newOrderData) {
     // 1. Find the exact record the user wants to overwrite
     MealOrders existing = mealOrdersRepository.findById(id)
         .orElseThrow(() -> new RuntimeException("Order ID " + id + " no longer exists"));
 
-    // 2. Check status one last time (Safety Check)
-    if (!"pending".equalsIgnoreCase(existing.getStatus())) {
-        throw new IllegalStateException("LOCKED_STATUS");
+    // 2. Check status one last time (Safety Check). If the client echoed
+    //    the version it edited, make sure nobody changed the row since.
+    assertVersion(existing, newOrderData.getVersion());
+    if (!OrderStatus.PENDING.equalsIgnoreCase(existing.getStatus())) {
+        throw new OrderConflictException(
+            OrderConflictException.LOCKED_STATUS,
+            "Order is already " + existing.getStatus() + " and can no longer be edited",
+            existing);
     }
 
     // 3. Overwrite the items and any other relevant fields
@@ -200,9 +279,59 @@ public class MealOrdersService {
     // can't smuggle unsafe meals past the gate.
     enforceCompliance(existing);
 
-    return mealOrdersRepository.save(existing);
+    // Version-checked write: if the kitchen moved the order to "preparing"
+    // between our read and this save, the UPDATE matches zero rows and the
+    // resident gets a 409 rather than editing a tray that's on the stove.
+    MealOrders saved = saveOrConflict(existing);
+    outbox.append(OutboxEvent.AGGREGATE_ORDER, saved.getId(), "order.updated",
+        OutboxService.payload(
+            "userId", saved.getUserId(),
+            "mealOfDay", saved.getMealOfDay(),
+            "date", String.valueOf(saved.getDate()),
+            "version", saved.getVersion()));
+    return saved;
 }
 
+    public record BulkStatusResult(int updated, List<Integer> skippedIds) {
+        public int skipped() {
+            return skippedIds.size();
+        }
+    }
+
+    private String requireKnownStatus(String status) {
+        String normalized = OrderStatus.normalize(status);
+        if (normalized == null) {
+            throw new IllegalArgumentException("Unknown order status: " + status);
+        }
+        return normalized;
+    }
+
+    private void assertVersion(MealOrders existing, Long expectedVersion) {
+        if (expectedVersion != null && !expectedVersion.equals(existing.getVersion())) {
+            throw new OrderConflictException(
+                OrderConflictException.VERSION_CONFLICT,
+                "Order was changed by someone else; reload and retry",
+                existing);
+        }
+    }
+
+    /**
+     * Flushes immediately so the version check fires here, inside the
+     * try, rather than at commit time after the caller has returned. The
+     * persistence context is unusable once the lock check fails, so the
+     * conflict carries no "current" row — the client reloads instead.
+     */
+    private MealOrders saveOrConflict(MealOrders order) {
+        try {
+            return mealOrdersRepository.saveAndFlush(order);
+        } catch (OptimisticLockingFailureException e) {
+            throw new OrderConflictException(
+                OrderConflictException.VERSION_CONFLICT,
+                "Order was changed by someone else; reload and retry",
+                null);
+        }
+    }
+
 
     // THIS IS THE KEY: Look up full meal details for an order
     public List<Meal> getDetailedMealsForOrder(String mealItemsIdNumbers) {
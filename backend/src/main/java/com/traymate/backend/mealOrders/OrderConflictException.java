@@ -0,0 +1,36 @@
+package com.traymate.backend.mealOrders;
+
+/**
+ * Thrown by MealOrdersService when an order write loses a race or asks
+ * for a status change the state machine doesn't allow. The controller
+ * maps it to a 409 so the tablet can refetch and retry instead of
+ * silently overwriting someone else's change.
+ *
+ * Error codes:
+ *   VERSION_CONFLICT   — the row changed since the caller read it
+ *   ILLEGAL_TRANSITION — e.g. completed → preparing
+ *   LOCKED_STATUS      — resident edit on an order the kitchen already started
+ */
+public class OrderConflictException extends RuntimeException {
+    public static final String VERSION_CONFLICT = "VERSION_CONFLICT";
+    public static final String ILLEGAL_TRANSITION = "ILLEGAL_TRANSITION";
+    public static final String LOCKED_STATUS = "LOCKED_STATUS";
+
+    private final String errorCode;
+    private final transient MealOrders current;
+
+    public OrderConflictException(String errorCode, String message, MealOrders current) {
+        super(message);
+        this.errorCode = errorCode;
+        this.current = current;
+    }
+
+    public String getErrorCode() {
+        return errorCode;
+    }
+
+    /** Latest known state of the order, if we have it, so the UI can re-render. */
+    public MealOrders getCurrent() {
+        return current;
+    }
+}
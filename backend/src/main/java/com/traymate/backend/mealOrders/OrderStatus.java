@@ -0,0 +1,80 @@
+package com.traymate.backend.mealOrders;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Allowed status values for a MealOrders row and the transitions the
+ * kitchen / resident flows are permitted to make between them.
+ *
+ *   pending ──► confirmed ──► preparing ──► ready ──► completed
+ *      └──────────────────────►┘
+ *
+ *   any non-terminal status ──► cancelled
+ *   pending / confirmed / preparing ──► substitution_requested
+ *   substitution_requested ──► pending / preparing
+ *
+ * confirmed is the kitchen acknowledging an order before cooking starts;
+ * from then on the resident can no longer edit it (only pending orders
+ * are editable). Kitchens that don't use that step go straight from
+ * pending to preparing.
+ *
+ * completed and cancelled are terminal. Re-applying the current status is
+ * treated as an idempotent no-op so a double tap on a tablet doesn't 409.
+ * Every live status can also step one back (confirmed → pending,
+ * preparing → pending / confirmed, ready → preparing), so a mis-tap on the
+ * kitchen's status grid can be undone and a tray pulled back.
+ */
+public final class OrderStatus {
+
+    public static final String PENDING = "pending";
+    public static final String CONFIRMED = "confirmed";
+    public static final String PREPARING = "preparing";
+    public static final String READY = "ready";
+    public static final String COMPLETED = "completed";
+    public static final String CANCELLED = "cancelled";
+    public static final String SUBSTITUTION_REQUESTED = "substitution_requested";
+
+    private static final Map<String, Set<String>> TRANSITIONS = Map.of(
+        PENDING,                Set.of(CONFIRMED, PREPARING, CANCELLED, SUBSTITUTION_REQUESTED),
+        CONFIRMED,              Set.of(PENDING, PREPARING, CANCELLED, SUBSTITUTION_REQUESTED),
+        PREPARING,              Set.of(PENDING, CONFIRMED, READY, CANCELLED, SUBSTITUTION_REQUESTED),
+        READY,                  Set.of(COMPLETED, PREPARING, CANCELLED),
+        SUBSTITUTION_REQUESTED, Set.of(PENDING, PREPARING, CANCELLED),
+        COMPLETED,              Set.of(),
+        CANCELLED,              Set.of()
+    );
+
+    private OrderStatus() {}
+
+    /** Lower-cased, trimmed status, or null if the input isn't a known status. */
+    public static String normalize(String status) {
+        if (status == null) return null;
+        String s = status.trim().toLowerCase(Locale.ROOT);
+        return TRANSITIONS.containsKey(s) ? s : null;
+    }
+
+    /**
+     * Whether an order currently in {@code from} may move to {@code to}.
+     * A null/blank current status is treated as pending (legacy rows).
+     */
+    public static boolean canTransition(String from, String to) {
+        String target = normalize(to);
+        if (target == null) return false;
+        String current = (from == null || from.isBlank()) ? PENDING : normalize(from);
+        if (current == null) return false;
+        return current.equals(target) || TRANSITIONS.get(current).contains(target);
+    }
+
+    /** Every status from which {@code to} is reachable (excluding {@code to} itself). */
+    public static Set<String> sourcesOf(String to) {
+        String target = normalize(to);
+        if (target == null) return Set.of();
+        return TRANSITIONS.entrySet().stream()
+            .filter(e -> e.getValue().contains(target))
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toUnmodifiableSet());
+    }
+}
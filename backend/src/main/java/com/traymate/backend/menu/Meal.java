@@ -1,5 +1,6 @@
 package com.traymate.backend.menu;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import jakarta.persistence.*;
 import lombok.*;
 
@@ -27,12 +28,35 @@ public class Meal {
     @Column(name = "image_url")
     private String imageUrl;
 
+    // SHA-256 of the ImageStore copy of imageUrl, maintained by
+    // MealImageSync. Clients load /images/{imageKey}/thumb|card|full.
+    @Column(name = "image_key", length = 64)
+    private String imageKey;
+
     private String mealtype;
     private String mealperiod;
 
+    // MealPeriod bits derived from `mealperiod` on every insert/update;
+    // period lookups hit this (indexed) instead of LIKE '%lunch%'.
+    @JsonIgnore
+    @Column(name = "period_mask", nullable = false)
+    private int periodMask;
+
     @Column(name = "time_range")
     private String timeRange;
 
+    // Schedule beyond the daily time window; parsed by MealSchedule.
+    // Blank = every day / year-round.
+
+    @Column(name = "available_days", length = 64)
+    private String availableDays;   // "MON-FRI", "SAT,SUN"
+
+    @Column(name = "season_start", length = 5)
+    private String seasonStart;     // MM-DD
+
+    @Column(name = "season_end", length = 5)
+    private String seasonEnd;       // MM-DD
+
     @Column(name = "allergen_info", columnDefinition = "TEXT")
     private String allergenInfo;
 
@@ -65,4 +89,32 @@ public class Meal {
 
     @Column(name = "Protein")
     private Integer protein;
+
+    // Derived from `nutrition` by NutritionParser on every insert/update so
+    // compliance rules and menu filters read numbers instead of re-parsing
+    // the text. Null = the text doesn't mention it.
+
+    @Column(name = "total_fat")
+    private Integer totalFat;       // g
+
+    @Column(name = "carbohydrate")
+    private Integer carbohydrate;   // g
+
+    @Column(name = "fiber")
+    private Integer fiber;          // g
+
+    @Column(name = "sugar")
+    private Integer sugar;          // g
+
+    @Column(name = "cholesterol")
+    private Integer cholesterol;    // mg
+
+    // JPA allows one callback method per lifecycle event, so every
+    // derived column is refreshed here.
+    @PrePersist
+    @PreUpdate
+    void deriveColumns() {
+        NutritionParser.apply(this);
+        periodMask = MealPeriod.maskOf(mealperiod);
+    }
 }
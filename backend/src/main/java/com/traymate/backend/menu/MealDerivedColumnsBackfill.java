@@ -0,0 +1,63 @@
+package com.traymate.backend.menu;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Brings the derived columns of rows written before they existed (or by
+ * hand, straight into the database) in line with their source text:
+ * the numeric nutrition columns from `nutrition` and period_mask from
+ * `mealperiod`. Runs the entity callback's own NutritionParser and
+ * MealPeriod.maskOf rather than REGEXP copies in schema.sql, so the
+ * backfill can never read a label differently from a normal save.
+ *
+ * Runs before the seeders and only saves rows whose derived values
+ * actually change — a migrated database costs one SELECT.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MealDerivedColumnsBackfill {
+
+    private final MealRepository mealRepository;
+    private final MenuCache menuCache;
+
+    @Order(0)
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            List<Meal> toSave = new ArrayList<>();
+            for (Meal meal : mealRepository.findAll()) {
+                List<Object> before = derived(meal);
+                meal.deriveColumns();
+                if (!before.equals(derived(meal))) {
+                    toSave.add(meal);
+                }
+            }
+            if (!toSave.isEmpty()) {
+                mealRepository.saveAll(toSave);
+                menuCache.invalidate();
+                log.info("[MealDerivedColumnsBackfill] Re-derived columns on {} meals", toSave.size());
+            }
+        } catch (Exception e) {
+            log.warn("[MealDerivedColumnsBackfill] Failed to backfill derived columns: {}", e.getMessage());
+        }
+    }
+
+    private static List<Object> derived(Meal meal) {
+        List<Object> values = new ArrayList<>();
+        for (Nutrient n : Nutrient.values()) {
+            values.add(n.get(meal));
+        }
+        values.add(meal.getPeriodMask());
+        return values;
+    }
+}
@@ -1,10 +1,13 @@
 package com.traymate.backend.menu;
 
-import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -23,6 +26,12 @@ import java.util.Map;
  * Existing rows that already have a non-empty <code>image_url</code> are
  * never touched, so an admin can override an image via the dashboard and
  * the seeder will respect that.
+ *
+ * Runs after SoftBiteMealSeeder once the app is ready, and only writes the
+ * rows it actually patched — a warm database costs one SELECT and nothing
+ * else. There's deliberately no checksum skip here: the point is to catch
+ * rows created through the API since the last boot, which a hash of the
+ * two maps below wouldn't notice.
  */
 @Slf4j
 @Component
@@ -37,6 +46,7 @@ public class MealImageSeeder {
             "https://raw.githubusercontent.com/aloepker/TrayMate/main/src/styles/pictures";
 
     private final MealRepository mealRepository;
+    private final MenuCache menuCache;
 
     /**
      * Authoritative meal-name → period map used to backfill the
@@ -179,12 +189,14 @@ public class MealImageSeeder {
         return m;
     }
 
-    @PostConstruct
+    @Order(2)
+    @EventListener(ApplicationReadyEvent.class)
     public void backfillMissingImages() {
         try {
             final Map<String, String> images = buildImageMap();
             final Map<String, String> external = buildExternalImageMap();
             final List<Meal> meals = mealRepository.findAll();
+            final List<Meal> toSave = new ArrayList<>();
             int imagesPatched = 0;
             int periodsPatched = 0;
 
@@ -228,15 +240,15 @@ public class MealImageSeeder {
                         dirty = true;
                     }
                 }
-                // dirty flag isn't used after this loop because saveAll
-                // saves the whole list — kept for readability if we later
-                // switch to per-row save() calls.
                 if (dirty) {
-                    // intentional no-op
+                    toSave.add(meal);
                 }
             }
 
-            mealRepository.saveAll(meals);
+            if (!toSave.isEmpty()) {
+                mealRepository.saveAll(toSave);
+                menuCache.invalidate();
+            }
             log.info(
                 "[MealImageSeeder] Backfill complete — imagesPatched={}, periodsPatched={}",
                 imagesPatched, periodsPatched
@@ -0,0 +1,100 @@
+package com.traymate.backend.menu;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Meal periods as bits of the meals.period_mask column, which replaces
+ * substring matching on the free-text mealperiod ("All Day", "Breakfast,
+ * Lunch", ...). The mask is derived from mealperiod on every insert/update
+ * (Meal's entity callback) and backfilled by MealDerivedColumnsBackfill.
+ *
+ * "All Day" is Breakfast | Lunch | Dinner — it doesn't include drinks or
+ * sides, which have their own tabs.
+ */
+public enum MealPeriod {
+    BREAKFAST("Breakfast", 1),
+    LUNCH("Lunch", 2),
+    DINNER("Dinner", 4),
+    DRINKS("Drinks", 8),
+    SIDES("Sides", 16);
+
+    public static final int ALL_DAY = BREAKFAST.bit | LUNCH.bit | DINNER.bit;
+
+    /** Every mask value the column can hold. */
+    private static final int ALL_BITS = 31;
+
+    private final String label;
+    private final int bit;
+
+    MealPeriod(String label, int bit) {
+        this.label = label;
+        this.bit = bit;
+    }
+
+    public String label() {
+        return label;
+    }
+
+    public int bit() {
+        return bit;
+    }
+
+    /**
+     * Mask for a mealperiod string. Comma, slash, "&" and "and" separate
+     * periods; unrecognised parts contribute nothing, so an unknown period
+     * yields 0.
+     */
+    public static int maskOf(String mealperiod) {
+        if (mealperiod == null || mealperiod.isBlank()) return 0;
+        int mask = 0;
+        for (String token : mealperiod.toLowerCase(Locale.ROOT).split("\\s*(?:,|/|&|\\band\\b)\\s*")) {
+            mask |= bitOf(token.trim());
+        }
+        return mask;
+    }
+
+    /**
+     * Every stored mask that covers all of {@code wanted} — the IN list for
+     * an indexed period_mask lookup. "Breakfast" gives the 16 masks with
+     * bit 1 set (so All Day meals match); 0 gives an empty list.
+     */
+    public static List<Integer> masksCovering(int wanted) {
+        List<Integer> out = new ArrayList<>();
+        if (wanted == 0) return out;
+        for (int m = 1; m <= ALL_BITS; m++) {
+            if ((m & wanted) == wanted) out.add(m);
+        }
+        return out;
+    }
+
+    public static boolean covers(int mask, int wanted) {
+        return wanted != 0 && (mask & wanted) == wanted;
+    }
+
+    private static int bitOf(String token) {
+        switch (token) {
+            case "all day":
+            case "all-day":
+            case "allday":
+                return ALL_DAY;
+            case "breakfast":
+                return BREAKFAST.bit;
+            case "lunch":
+                return LUNCH.bit;
+            case "dinner":
+                return DINNER.bit;
+            case "drink":
+            case "drinks":
+            case "beverage":
+            case "beverages":
+                return DRINKS.bit;
+            case "side":
+            case "sides":
+                return SIDES.bit;
+            default:
+                return 0;
+        }
+    }
+}
@@ -1,23 +1,45 @@
 package com.traymate.backend.menu;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 
 public interface MealRepository extends JpaRepository<Meal, Integer> {
     Optional<Meal> findByNameIgnoreCase(String name);
 
-    List<Meal> findByAvailableTrue();
+    /**
+     * Case-insensitive bulk lookup by name — {@code lowerNames} must already
+     * be lower-cased. Lets SoftBiteMealSeeder load every seeded row in one
+     * query instead of one findByNameIgnoreCase per meal.
+     */
+    @Query("SELECT m FROM Meal m WHERE LOWER(m.name) IN :lowerNames")
+    List<Meal> findByLowerNameIn(Collection<String> lowerNames);
 
-    List<Meal> findByMealperiodContainingIgnoreCase(String mealperiod);
+    List<Meal> findByAvailableTrue();
 
     /**
-     * Meals in a given period that are currently available. Used by
-     * MealCoverageAlertService to see what's actually on offer for a
-     * resident's breakfast/lunch/dinner before running compliance.
+     * Available meals whose period_mask is one of {@code masks} — pass
+     * MealPeriod.masksCovering(bit) to get every meal served in that
+     * period; an IN list on the indexed column instead of LIKE '%x%'.
+     * Used by MealCoverageAlertService to see what's actually on offer
+     * for a resident's breakfast/lunch/dinner before running compliance.
      */
-    List<Meal> findByMealperiodContainingIgnoreCaseAndAvailableTrue(String mealperiod);
+    List<Meal> findByPeriodMaskInAndAvailableTrue(Collection<Integer> masks);
 
     List<Meal> findByMealtypeIgnoreCase(String mealtype);
+
+    /**
+     * Set only image_key. A targeted UPDATE rather than save() so
+     * MealImageSync can't overwrite a concurrent menu edit with the stale
+     * snapshot row it was looking at.
+     */
+    @Transactional
+    @Modifying
+    @Query("UPDATE Meal m SET m.imageKey = :imageKey WHERE m.id = :id")
+    int updateImageKey(Integer id, String imageKey);
 }
@@ -0,0 +1,203 @@
+package com.traymate.backend.menu;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.MonthDay;
+import java.time.format.DateTimeParseException;
+import java.util.EnumSet;
+import java.util.Locale;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Parsed form of the three schedule columns on a meal:
+ *
+ *   time_range       "7am - 10am", "11:30am - 2pm", "All Day" / blank = all day
+ *   available_days   "MON,WED,FRI", "MON-FRI", blank = every day
+ *   season_start/end "03-20" / "06-20" (MM-DD), blank = year-round;
+ *                    start after end wraps the new year ("12-01" → "02-28")
+ *
+ * Parsing is lenient on purpose — these strings were free text for a long
+ * time — so anything unrecognised widens the window instead of hiding a
+ * dish. Use the validate* methods to reject bad input on the write path.
+ *
+ * A window whose end is before its start runs past midnight ("10pm - 2am");
+ * the after-midnight part counts against the same calendar date, i.e. the
+ * day/season rules are checked for the date being asked about.
+ */
+public final class MealSchedule {
+
+    /** Minutes in a day; also the end minute of an all-day window. */
+    public static final int DAY_MINUTES = 24 * 60;
+
+    private static final Pattern TIME = Pattern.compile(
+        "(\\d{1,2})(?::(\\d{2}))?\\s*(am|pm|a\\.m\\.|p\\.m\\.)?", Pattern.CASE_INSENSITIVE);
+    private static final Pattern RANGE = Pattern.compile(
+        "^\\s*(.+?)\\s*(?:-|–|—|to)\\s*(.+?)\\s*$", Pattern.CASE_INSENSITIVE);
+
+    private static final MealSchedule ALWAYS =
+        new MealSchedule(0, DAY_MINUTES, EnumSet.allOf(DayOfWeek.class), null, null);
+
+    private final int startMinute;
+    private final int endMinute;
+    private final Set<DayOfWeek> days;
+    private final MonthDay seasonStart;
+    private final MonthDay seasonEnd;
+
+    private MealSchedule(int startMinute, int endMinute, Set<DayOfWeek> days,
+                         MonthDay seasonStart, MonthDay seasonEnd) {
+        this.startMinute = startMinute;
+        this.endMinute = endMinute;
+        this.days = days;
+        this.seasonStart = seasonStart;
+        this.seasonEnd = seasonEnd;
+    }
+
+    public static MealSchedule of(Meal meal) {
+        int[] window = parseTimeRange(meal.getTimeRange());
+        Set<DayOfWeek> days = parseDays(meal.getAvailableDays());
+        MonthDay start = parseMonthDay(meal.getSeasonStart());
+        MonthDay end = parseMonthDay(meal.getSeasonEnd());
+        if (start == null || end == null) {
+            start = null;
+            end = null;
+        }
+        if (window == null && days.size() == 7 && start == null) return ALWAYS;
+        return window == null
+            ? new MealSchedule(0, DAY_MINUTES, days, start, end)
+            : new MealSchedule(window[0], window[1], days, start, end);
+    }
+
+    /** True if the meal is on the menu at all on this date (day of week + season). */
+    public boolean offeredOn(LocalDate date) {
+        if (!days.contains(date.getDayOfWeek())) return false;
+        if (seasonStart == null) return true;
+        MonthDay md = MonthDay.from(date);
+        return seasonStart.isAfter(seasonEnd)
+            ? !md.isBefore(seasonStart) || !md.isAfter(seasonEnd)
+            : !md.isBefore(seasonStart) && !md.isAfter(seasonEnd);
+    }
+
+    /** True if the time-of-day window is open at this minute (0–1439). */
+    public boolean openAtMinute(int minute) {
+        return startMinute <= endMinute
+            ? minute >= startMinute && minute < endMinute
+            : minute >= startMinute || minute < endMinute;
+    }
+
+    public boolean allDay() {
+        return startMinute == 0 && endMinute == DAY_MINUTES;
+    }
+
+    public int startMinute() {
+        return startMinute;
+    }
+
+    public int endMinute() {
+        return endMinute;
+    }
+
+    // ── Write-side validation ──────────────────────────────────────────
+
+    /** Throws IllegalArgumentException if a non-blank time range can't be parsed. */
+    public static void validateTimeRange(String raw) {
+        if (isBlankOrAllDay(raw)) return;
+        if (parseTimeRange(raw) == null) {
+            throw new IllegalArgumentException("Unrecognised timeRange '" + raw + "' (expected e.g. \"7am - 10am\")");
+        }
+    }
+
+    public static void validateDays(String raw) {
+        if (raw == null || raw.isBlank()) return;
+        for (String token : raw.split(",")) {
+            String t = token.trim();
+            if (t.isEmpty()) continue;
+            String[] ends = t.split("-");
+            for (String end : ends) {
+                if (day(end) == null) {
+                    throw new IllegalArgumentException("Unrecognised day '" + end.trim() + "' in availableDays");
+                }
+            }
+        }
+    }
+
+    public static void validateSeason(String start, String end) {
+        boolean hasStart = start != null && !start.isBlank();
+        boolean hasEnd = end != null && !end.isBlank();
+        if (hasStart != hasEnd) {
+            throw new IllegalArgumentException("seasonStart and seasonEnd must be set together");
+        }
+        if (hasStart && (parseMonthDay(start) == null || parseMonthDay(end) == null)) {
+            throw new IllegalArgumentException("Season dates must be MM-DD");
+        }
+    }
+
+    // ── Parsing ────────────────────────────────────────────────────────
+
+    /** [startMinute, endMinute] or null for all-day / unparseable. */
+    private static int[] parseTimeRange(String raw) {
+        if (isBlankOrAllDay(raw)) return null;
+        Matcher range = RANGE.matcher(raw);
+        if (!range.matches()) return null;
+        Integer start = minuteOf(range.group(1));
+        Integer end = minuteOf(range.group(2));
+        if (start == null || end == null || start.equals(end)) return null;
+        return new int[] { start, end == 0 ? DAY_MINUTES : end };
+    }
+
+    private static boolean isBlankOrAllDay(String raw) {
+        return raw == null || raw.isBlank() || raw.trim().equalsIgnoreCase("all day");
+    }
+
+    private static Integer minuteOf(String text) {
+        Matcher m = TIME.matcher(text.trim());
+        if (!m.matches()) return null;
+        int hour = Integer.parseInt(m.group(1));
+        int minute = m.group(2) == null ? 0 : Integer.parseInt(m.group(2));
+        String meridiem = m.group(3) == null ? null : m.group(3).toLowerCase(Locale.ROOT);
+        if (minute > 59) return null;
+        if (meridiem == null) {
+            if (hour > 23) return null;
+        } else {
+            if (hour < 1 || hour > 12) return null;
+            hour = hour % 12 + (meridiem.startsWith("p") ? 12 : 0);
+        }
+        return LocalTime.of(hour, minute).toSecondOfDay() / 60;
+    }
+
+    private static Set<DayOfWeek> parseDays(String raw) {
+        if (raw == null || raw.isBlank()) return EnumSet.allOf(DayOfWeek.class);
+        Set<DayOfWeek> out = EnumSet.noneOf(DayOfWeek.class);
+        for (String token : raw.split(",")) {
+            String[] ends = token.trim().split("-");
+            DayOfWeek from = day(ends[0]);
+            DayOfWeek to = ends.length > 1 ? day(ends[1]) : from;
+            if (from == null || to == null) continue;
+            for (DayOfWeek d = from; ; d = d.plus(1)) {
+                out.add(d);
+                if (d == to) break;
+            }
+        }
+        return out.isEmpty() ? EnumSet.allOf(DayOfWeek.class) : out;
+    }
+
+    private static DayOfWeek day(String token) {
+        String t = token.trim().toUpperCase(Locale.ROOT);
+        if (t.length() < 3) return null;
+        for (DayOfWeek d : DayOfWeek.values()) {
+            if (d.name().startsWith(t)) return d;
+        }
+        return null;
+    }
+
+    private static MonthDay parseMonthDay(String raw) {
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            return MonthDay.parse("--" + raw.trim());
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.traymate.backend.menu;
+
+import com.traymate.backend.menu.dto.LocalizedMealDto;
+
+import lombok.extern.slf4j.Slf4j;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectMapper;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+/**
+ * Parsed form of a meal's three translation TEXT columns:
+ *
+ *   name_translations        {"Español": "...", "Français": "...", "中文": "..."}
+ *   description_translations same shape
+ *   tag_translations         {"Low Sodium": {"Español": "...", ...}, ...}
+ *
+ * MenuCache keeps one of these per meal and only re-parses when the raw
+ * column text changes, so a menu edit to one dish doesn't re-parse the
+ * other hundred. Malformed JSON is treated as "no translations" rather
+ * than failing the whole menu.
+ */
+@Slf4j
+final class MealTranslations {
+
+    private final String rawNames;
+    private final String rawDescriptions;
+    private final String rawTags;
+
+    private final Map<String, String> names;
+    private final Map<String, String> descriptions;
+    private final Map<String, Map<String, String>> tags;
+
+    private MealTranslations(Meal meal, ObjectMapper mapper) {
+        this.rawNames = meal.getNameTranslations();
+        this.rawDescriptions = meal.getDescriptionTranslations();
+        this.rawTags = meal.getTagTranslations();
+        this.names = parseFlat(mapper, meal.getId(), rawNames);
+        this.descriptions = parseFlat(mapper, meal.getId(), rawDescriptions);
+        this.tags = parseNested(mapper, meal.getId(), rawTags);
+    }
+
+    static MealTranslations parse(Meal meal, ObjectMapper mapper) {
+        return new MealTranslations(meal, mapper);
+    }
+
+    /** True if this was parsed from exactly the meal's current column text. */
+    boolean matches(Meal meal) {
+        return Objects.equals(rawNames, meal.getNameTranslations())
+            && Objects.equals(rawDescriptions, meal.getDescriptionTranslations())
+            && Objects.equals(rawTags, meal.getTagTranslations());
+    }
+
+    /** Every translated name, all languages. Used by MenuSearchIndex. */
+    Collection<String> allNames() {
+        return names.values();
+    }
+
+    /** Every translated description and tag, all languages. Used by MenuSearchIndex. */
+    List<String> allText() {
+        List<String> out = new ArrayList<>(descriptions.values());
+        tags.values().forEach(byLang -> out.addAll(byLang.values()));
+        return out;
+    }
+
+    LocalizedMealDto localize(Meal meal, String language) {
+        boolean english = MenuLanguage.ENGLISH.equals(language);
+        return new LocalizedMealDto(
+            meal.getId(),
+            language,
+            english ? meal.getName() : pick(names, language, meal.getName()),
+            english ? meal.getDescription() : pick(descriptions, language, meal.getDescription()),
+            meal.getIngredients(),
+            meal.getImageUrl(),
+            meal.getImageKey(),
+            meal.getMealtype(),
+            meal.getMealperiod(),
+            meal.getTimeRange(),
+            meal.getAvailableDays(),
+            meal.getSeasonStart(),
+            meal.getSeasonEnd(),
+            meal.getAllergenInfo(),
+            english ? meal.getTags() : localizeTags(meal.getTags(), language),
+            meal.isAvailable(),
+            meal.isSeasonal(),
+            meal.getNutrition(),
+            meal.getCalories(),
+            meal.getSodium(),
+            meal.getProtein(),
+            meal.getTotalFat(),
+            meal.getCarbohydrate(),
+            meal.getFiber(),
+            meal.getSugar(),
+            meal.getCholesterol()
+        );
+    }
+
+    // tags column is a comma-separated list ("Soft Bite, Low Sodium");
+    // translate each tag on its own and keep the same separator.
+    private String localizeTags(String rawTagList, String language) {
+        if (rawTagList == null || rawTagList.isBlank() || tags.isEmpty()) return rawTagList;
+        return Arrays.stream(rawTagList.split(","))
+            .map(String::trim)
+            .filter(t -> !t.isEmpty())
+            .map(t -> {
+                Map<String, String> byLang = tags.get(t);
+                return byLang == null ? t : pick(byLang, language, t);
+            })
+            .collect(Collectors.joining(", "));
+    }
+
+    private static String pick(Map<String, String> byLang, String language, String fallback) {
+        String value = byLang.get(language);
+        return value == null || value.isBlank() ? fallback : value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, String> parseFlat(ObjectMapper mapper, Integer mealId, String json) {
+        if (json == null || json.isBlank()) return Map.of();
+        try {
+            Map<String, Object> raw = mapper.readValue(json, Map.class);
+            return raw.entrySet().stream()
+                .filter(e -> e.getValue() instanceof String)
+                .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, e -> (String) e.getValue()));
+        } catch (JacksonException e) {
+            log.warn("[MealTranslations] bad translation JSON on meal {}: {}", mealId, e.getMessage());
+            return Map.of();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Map<String, String>> parseNested(ObjectMapper mapper, Integer mealId, String json) {
+        if (json == null || json.isBlank()) return Map.of();
+        try {
+            Map<String, Object> raw = mapper.readValue(json, Map.class);
+            return raw.entrySet().stream()
+                .filter(e -> e.getValue() instanceof Map)
+                .collect(Collectors.toUnmodifiableMap(
+                    Map.Entry::getKey,
+                    e -> ((Map<String, Object>) e.getValue()).entrySet().stream()
+                        .filter(t -> t.getValue() instanceof String)
+                        .collect(Collectors.toUnmodifiableMap(Map.Entry::getKey, t -> (String) t.getValue()))));
+        } catch (JacksonException e) {
+            log.warn("[MealTranslations] bad tag translation JSON on meal {}: {}", mealId, e.getMessage());
+            return Map.of();
+        }
+    }
+}
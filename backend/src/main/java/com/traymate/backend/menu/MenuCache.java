@@ -0,0 +1,399 @@
+package com.traymate.backend.menu;
+
+import com.traymate.backend.common.FieldSelection;
+import com.traymate.backend.menu.dto.LocalizedMealDto;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * In-memory copy of the meals table, versioned so the read endpoints can
+ * answer repeat requests with 304 Not Modified.
+ *
+ * The menu changes a handful of times a day but every tablet re-fetches it
+ * on every screen open, so reads are served from an immutable Snapshot
+ * and only go back to MySQL after something calls invalidate():
+ *   - MenuService / MenuMutationController writes
+ *   - SoftBiteMealSeeder and MealImageSeeder runs
+ *
+ * Versioning rules:
+ *   - invalidate() bumps the version AFTER the surrounding transaction
+ *     commits. Bumping earlier would let a concurrent reader rebuild from
+ *     pre-commit rows and tag them with the new version.
+ *   - A rebuild is tagged with the version read BEFORE it queried, so a
+ *     bump that lands mid-rebuild leaves the snapshot stale and the next
+ *     read rebuilds again.
+ *   - Only one thread rebuilds at a time; the rest wait and reuse it.
+ *
+ * Each view is also kept pre-rendered: the JSON bytes and a gzipped copy
+ * are built once per snapshot, on first request, so the 7:30 am rush of
+ * tablets opening the menu is a byte copy rather than Jackson walking
+ * every Meal (translation TEXT columns and all) per request.
+ *
+ * With ?lang= the same views are projected to LocalizedMealDto for one
+ * language. Translation JSON is parsed once per meal and reused across
+ * snapshots until that meal's translation text actually changes.
+ *
+ * Nutrition range params (?maxSugar=, ?minProtein=… see NutritionFilter)
+ * are answered from per-nutrient sorted columns built once per snapshot.
+ *
+ * With ?fields= (see MEAL_FIELDS / FIELD_PRESETS) rows are trimmed to the
+ * requested properties before rendering, so list screens stop paying for
+ * ingredients, nutrition and allergen text they never show.
+ *
+ * Meals in a snapshot are shared, detached entities — treat them as
+ * read-only. Anything that edits a meal must load it from the repository.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuCache {
+
+    public static final String VIEW_ALL = "all";
+    public static final String VIEW_AVAILABLE = "available";
+    public static final String VIEW_DRINKS = "drinks";
+    public static final String VIEW_SIDES = "sides";
+    private static final String VIEW_PERIOD_PREFIX = "period:";
+    private static final String VIEW_MEAL_PREFIX = "meal:";
+
+    /** Every property a menu row can have, in response order. "language" only exists with ?lang=. */
+    public static final List<String> MEAL_FIELDS = List.of(
+        "id", "language", "name", "description", "ingredients", "imageUrl", "imageKey",
+        "mealtype", "mealperiod", "timeRange", "availableDays", "seasonStart", "seasonEnd",
+        "allergenInfo", "tags",
+        "nameTranslations", "descriptionTranslations", "tagTranslations",
+        "available", "seasonal", "nutrition", "calories", "sodium", "protein",
+        "totalFat", "carbohydrate", "fiber", "sugar", "cholesterol"
+    );
+
+    /** ?fields=summary — what the menu grid tiles actually render. */
+    public static final Map<String, Set<String>> FIELD_PRESETS = Map.of(
+        "summary", Set.of("id", "language", "name", "imageUrl", "imageKey", "mealtype", "mealperiod", "tags", "available")
+    );
+
+    private static final TypeReference<List<Map<String, Object>>> ROWS = new TypeReference<>() {};
+
+    /**
+     * Cap on memoized views/renders so arbitrary /period/{x} paths and
+     * field combinations can't grow a snapshot forever. Sized for every
+     * meal's detail view plus the list views in a couple of languages.
+     */
+    private static final int MAX_VIEWS = 512;
+
+    private final MealRepository mealRepository;
+    private final ObjectMapper objectMapper;
+
+    private final AtomicLong version = new AtomicLong(1);
+
+    /**
+     * Distinguishes this JVM's version counter from the previous one's, so
+     * an ETag issued before a restart (version 7 of a different menu) can't
+     * match version 7 after it.
+     */
+    private final String epoch = Long.toString(System.currentTimeMillis(), 36);
+
+    private volatile Snapshot snapshot;
+
+    /** Parsed translation JSON per meal id, carried across snapshots. */
+    private final Map<Integer, MealTranslations> translations = new ConcurrentHashMap<>();
+
+    public static String periodView(String mealperiod) {
+        return VIEW_PERIOD_PREFIX + (mealperiod == null ? "" : mealperiod.trim().toLowerCase(Locale.ROOT));
+    }
+
+    /** Single-meal detail view; renders as one object rather than a list. */
+    public static String mealView(Integer id) {
+        return VIEW_MEAL_PREFIX + id;
+    }
+
+    public static boolean isMealView(String key) {
+        return key.startsWith(VIEW_MEAL_PREFIX);
+    }
+
+    /** Current snapshot, rebuilding it first if the menu changed since it was taken. */
+    public Snapshot current() {
+        Snapshot s = snapshot;
+        if (s != null && s.version == version.get()) return s;
+        synchronized (this) {
+            long v = version.get();
+            s = snapshot;
+            if (s != null && s.version == v) return s;
+            List<Meal> meals = List.copyOf(mealRepository.findAll(Sort.by("id")));
+            Set<Integer> ids = meals.stream().map(Meal::getId).collect(Collectors.toSet());
+            translations.keySet().retainAll(ids);
+            s = new Snapshot(v, epoch, meals, objectMapper, this::translationsFor);
+            snapshot = s;
+            log.debug("[MenuCache] rebuilt snapshot v{} ({} meals)", v, meals.size());
+            return s;
+        }
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    MealTranslations translationsFor(Meal meal) {
+        MealTranslations existing = translations.get(meal.getId());
+        if (existing != null && existing.matches(meal)) return existing;
+        MealTranslations parsed = MealTranslations.parse(meal, objectMapper);
+        translations.put(meal.getId(), parsed);
+        return parsed;
+    }
+
+    /**
+     * Mark the menu as changed. Inside a transaction the bump is deferred
+     * until commit (and skipped on rollback); outside one it's immediate.
+     */
+    public void invalidate() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    version.incrementAndGet();
+                }
+            });
+        } else {
+            version.incrementAndGet();
+        }
+    }
+
+    /**
+     * One view, serialized. The gzip variant is a different representation
+     * of the same URL, so Snapshot.etagFor gives it its own strong ETag.
+     */
+    public record Rendered(byte[] json, byte[] gzip) {}
+
+    /** Meal ids ordered by one nutrient's value; meals with no value are left out. */
+    private record SortedColumn(int[] values, int[] ids) {
+
+        static SortedColumn of(List<Meal> meals, Nutrient n) {
+            List<Meal> known = meals.stream()
+                .filter(m -> n.get(m) != null)
+                .sorted(Comparator.comparing(n::get))
+                .toList();
+            int[] values = new int[known.size()];
+            int[] ids = new int[known.size()];
+            for (int i = 0; i < known.size(); i++) {
+                values[i] = n.get(known.get(i));
+                ids[i] = known.get(i).getId();
+            }
+            return new SortedColumn(values, ids);
+        }
+
+        /** Ids with min <= value <= max; either bound may be null (open). */
+        Set<Integer> idsBetween(Integer min, Integer max) {
+            int from = min == null ? 0 : firstAtLeast(min);
+            int to = max == null ? values.length : firstAtLeast(max == Integer.MAX_VALUE ? max : max + 1);
+            Set<Integer> out = new HashSet<>();
+            for (int i = from; i < to; i++) out.add(ids[i]);
+            return out;
+        }
+
+        private int firstAtLeast(int target) {
+            int lo = 0;
+            int hi = values.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (values[mid] < target) lo = mid + 1; else hi = mid;
+            }
+            return lo;
+        }
+    }
+
+    /** Immutable menu state at one version, plus lazily built filtered views. */
+    public static final class Snapshot {
+
+        private final long version;
+        private final String etag;
+        private final List<Meal> meals;
+        private final Map<Integer, Meal> byId;
+        private final ObjectMapper objectMapper;
+        private final Function<Meal, MealTranslations> translations;
+        private final Map<String, List<Meal>> views = new ConcurrentHashMap<>();
+        private final Map<String, Rendered> rendered = new ConcurrentHashMap<>();
+        private final Map<Nutrient, SortedColumn> sortedColumns = new ConcurrentHashMap<>();
+
+        private Snapshot(long version, String epoch, List<Meal> meals, ObjectMapper objectMapper,
+                         Function<Meal, MealTranslations> translations) {
+            this.version = version;
+            this.etag = "\"menu-" + epoch + "-" + version + "\"";
+            this.meals = meals;
+            this.byId = meals.stream().collect(Collectors.toUnmodifiableMap(Meal::getId, m -> m));
+            this.objectMapper = objectMapper;
+            this.translations = translations;
+        }
+
+        public long version() {
+            return version;
+        }
+
+        /** Strong ETag for any view of this snapshot (views are separate URLs). */
+        public String etag() {
+            return etag;
+        }
+
+        public List<Meal> meals() {
+            return meals;
+        }
+
+        /** Meals for one of the VIEW_* keys or a periodView(...) key. */
+        public List<Meal> view(String key) {
+            if (isMealView(key)) {
+                Integer id = parseMealId(key);
+                Meal meal = id == null ? null : byId.get(id);
+                return meal == null ? List.of() : List.of(meal);
+            }
+            List<Meal> cached = views.get(key);
+            if (cached != null) return cached;
+            List<Meal> built = filter(predicateFor(key));
+            if (views.size() < MAX_VIEWS) {
+                views.putIfAbsent(key, built);
+            }
+            return built;
+        }
+
+        /**
+         * View narrowed by nutrition ranges. Each constrained nutrient is
+         * answered from a per-snapshot sorted column (binary search for the
+         * bounds), then the surviving ids are intersected with the view.
+         */
+        public List<Meal> view(String key, NutritionFilter nutrition) {
+            List<Meal> base = view(key);
+            if (nutrition.isEmpty() || isMealView(key)) return base;
+            Set<Integer> allowed = null;
+            for (Nutrient n : nutrition.nutrients()) {
+                Set<Integer> inRange = sortedColumn(n).idsBetween(nutrition.min(n), nutrition.max(n));
+                if (allowed == null) {
+                    allowed = inRange;
+                } else {
+                    allowed.retainAll(inRange);
+                }
+            }
+            Set<Integer> ids = allowed;
+            return base.stream().filter(m -> ids.contains(m.getId())).toList();
+        }
+
+        /**
+         * Pre-serialized bytes for a view. computeIfAbsent makes concurrent
+         * first requests for the same view wait for one render instead of
+         * each doing it.
+         *
+         * @param language canonical (MenuLanguage.normalize); null = raw Meal shape
+         * @param fields   as returned by FieldSelection.parse; null = every field
+         */
+        public Rendered render(String key, String language, Set<String> fields, NutritionFilter nutrition) {
+            String renderKey = key
+                + (language == null ? "" : "|" + language)
+                + (fields == null ? "" : "|" + String.join(",", fields))
+                + (nutrition.isEmpty() ? "" : "|" + nutrition.key());
+            Rendered cached = rendered.get(renderKey);
+            if (cached != null) return cached;
+            if (rendered.size() >= MAX_VIEWS) return renderNow(key, language, fields, nutrition);
+            return rendered.computeIfAbsent(renderKey, k -> renderNow(key, language, fields, nutrition));
+        }
+
+        /**
+         * The ETag render() would give this variant, without rendering it —
+         * so a 304 costs no serialization even once the render cache is
+         * full. Depends only on the snapshot and the variant, never on the
+         * view key: the URL already tells views apart.
+         */
+        public String etagFor(String language, Set<String> fields, NutritionFilter nutrition, boolean gzip) {
+            String tag = (language == null ? "" : "-" + MenuLanguage.code(language))
+                + (fields == null ? "" : "-f" + Integer.toHexString(String.join(",", fields).hashCode()))
+                + (nutrition.isEmpty() ? "" : "-n" + Integer.toHexString(nutrition.key().hashCode()));
+            return etag.substring(0, etag.length() - 1) + tag + (gzip ? "-gz\"" : "\"");
+        }
+
+        /** View projected into flat single-language DTOs. */
+        public List<LocalizedMealDto> localized(List<Meal> rows, String language) {
+            return rows.stream()
+                .map(m -> translations.apply(m).localize(m, language))
+                .toList();
+        }
+
+        private SortedColumn sortedColumn(Nutrient n) {
+            return sortedColumns.computeIfAbsent(n, k -> SortedColumn.of(meals, k));
+        }
+
+        private Rendered renderNow(String key, String language, Set<String> fields, NutritionFilter nutrition) {
+            List<Meal> meals = view(key, nutrition);
+            List<?> rows = language == null ? meals : localized(meals, language);
+            Object body = rows;
+            if (isMealView(key)) {
+                body = rows.isEmpty() ? null : rows.get(0);
+            } else if (fields != null) {
+                // Once per snapshot per field set, so the extra tree pass is fine.
+                body = objectMapper.convertValue(rows, ROWS).stream()
+                    .map(row -> FieldSelection.pick(row, fields))
+                    .toList();
+            }
+            byte[] json = objectMapper.writeValueAsBytes(body);
+            return new Rendered(json, gzip(json));
+        }
+
+        private static byte[] gzip(byte[] data) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+            try (GZIPOutputStream gz = new GZIPOutputStream(out)) {
+                gz.write(data);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            return out.toByteArray();
+        }
+
+        private static Integer parseMealId(String key) {
+            try {
+                return Integer.valueOf(key.substring(VIEW_MEAL_PREFIX.length()));
+            } catch (NumberFormatException e) {
+                return null;
+            }
+        }
+
+        private List<Meal> filter(Predicate<Meal> predicate) {
+            return meals.stream().filter(predicate).toList();
+        }
+
+        // Mirrors the repository finders these views replace:
+        // findByAvailableTrue, the old mealperiod LIKE query and
+        // findByMealtypeIgnoreCase("Beverage" / "Side").
+        // Period views match on MealPeriod bits, so /period/lunch returns
+        // Lunch and All Day meals and an unknown period returns nothing.
+        private static Predicate<Meal> predicateFor(String key) {
+            switch (key) {
+                case VIEW_ALL:       return m -> true;
+                case VIEW_AVAILABLE: return Meal::isAvailable;
+                case VIEW_DRINKS:    return m -> "Beverage".equalsIgnoreCase(m.getMealtype());
+                case VIEW_SIDES:     return m -> "Side".equalsIgnoreCase(m.getMealtype());
+                default:
+                    if (key.startsWith(VIEW_PERIOD_PREFIX)) {
+                        int wanted = MealPeriod.maskOf(key.substring(VIEW_PERIOD_PREFIX.length()));
+                        return m -> MealPeriod.covers(m.getPeriodMask(), wanted);
+                    }
+                    throw new IllegalArgumentException("Unknown menu view: " + key);
+            }
+        }
+    }
+}
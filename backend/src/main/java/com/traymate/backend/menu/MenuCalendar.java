@@ -0,0 +1,242 @@
+package com.traymate.backend.menu;
+
+import com.traymate.backend.events.ChangeEvent;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ScheduledFuture;
+import java.util.stream.Collectors;
+
+/**
+ * Effective availability: a meal is orderable at a given moment when its
+ * manual {@code available} flag is on AND its MealSchedule (time window,
+ * days of week, season) is open.
+ *
+ * For one date and one MenuCache snapshot, each period's meals are turned
+ * into an interval index — a TreeMap from minute-of-day to the meals open
+ * from that minute until the next boundary — so "what can I order for Lunch
+ * right now" is a floorEntry lookup instead of re-parsing every timeRange.
+ * The index is rebuilt when the menu snapshot or the date changes.
+ *
+ * A one-shot task is kept scheduled for the next window boundary. When it
+ * fires, the new day's index is warmed (at midnight) and exactly one outbox
+ * event goes out for that boundary:
+ *   - menu.window_boundary  some dish opened/closed within the day
+ *   - menu.day_boundary     midnight changed the day's offering; coverage
+ *                           re-evaluates off this one (time-of-day windows
+ *                           inside a period don't change what's coverable)
+ * Boundaries where nothing actually flips emit nothing. Any meal change on
+ * the outbox feed re-plans the next boundary.
+ *
+ * MenuCache's list views still reflect only the manual flag — the kitchen
+ * needs to see every dish — so tablets use GET /menu/orderable for this.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuCalendar {
+
+    public static final String EVENT_WINDOW_BOUNDARY = "menu.window_boundary";
+    public static final String EVENT_DAY_BOUNDARY = "menu.day_boundary";
+
+    /** Index key for "every period". */
+    private static final String ALL_PERIODS = "";
+
+    private final MenuCache menuCache;
+    private final OutboxService outbox;
+    private final TaskScheduler taskScheduler;
+
+    @Value("${traymate.menu.zone:America/Los_Angeles}")
+    private ZoneId zone;
+
+    private volatile DayIndex current;
+
+    /** Pending boundary task; guarded by this. */
+    private ScheduledFuture<?> nextBoundary;
+
+    public LocalDateTime now() {
+        return LocalDateTime.now(zone);
+    }
+
+    public LocalDate today() {
+        return LocalDate.now(zone);
+    }
+
+    /** Meals orderable at {@code at} (facility-local), optionally for one period. */
+    public List<Meal> orderable(String period, LocalDateTime at) {
+        return indexFor(at.toLocalDate()).lookup(periodKey(period), minuteOf(at.toLocalTime()));
+    }
+
+    /** Day-level check (days of week + season) for today — what coverage counts as on the menu. */
+    public boolean offeredToday(Meal meal) {
+        return indexFor(today()).schedule(meal).offeredOn(today());
+    }
+
+    // ── Boundary scheduling ────────────────────────────────────────────
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        planNextBoundary(now());
+    }
+
+    /** Menu edits can move, add or remove windows — re-plan from now. */
+    @EventListener
+    public void onBatch(ChangeEvent.Batch batch) {
+        if (batch.anyAbout(OutboxEvent.AGGREGATE_MEAL)) {
+            planNextBoundary(now());
+        }
+    }
+
+    private synchronized void planNextBoundary(LocalDateTime from) {
+        if (nextBoundary != null) {
+            nextBoundary.cancel(false);
+        }
+        LocalDate date = from.toLocalDate();
+        Integer next = indexFor(date).boundaries.higher(minuteOf(from.toLocalTime()));
+        LocalDateTime at = next == null || next >= MealSchedule.DAY_MINUTES
+            ? date.plusDays(1).atStartOfDay()
+            : date.atStartOfDay().plusMinutes(next);
+        nextBoundary = taskScheduler.schedule(() -> onBoundary(at), at.atZone(zone).toInstant());
+        log.debug("[MenuCalendar] next availability boundary at {}", at);
+    }
+
+    private void onBoundary(LocalDateTime at) {
+        try {
+            boolean midnight = at.toLocalTime().equals(LocalTime.MIDNIGHT);
+            LocalDateTime before = at.minusMinutes(1);
+            DayIndex prev = indexFor(before.toLocalDate());
+            DayIndex next = indexFor(at.toLocalDate());   // warms the new day's index at midnight
+
+            Set<Integer> was = ids(prev.lookup(ALL_PERIODS, minuteOf(before.toLocalTime())));
+            Set<Integer> now = ids(next.lookup(ALL_PERIODS, minuteOf(at.toLocalTime())));
+            List<Integer> opened = now.stream().filter(id -> !was.contains(id)).sorted().toList();
+            List<Integer> closed = was.stream().filter(id -> !now.contains(id)).sorted().toList();
+            boolean offeringChanged = midnight && !prev.offered.equals(next.offered);
+
+            if (!opened.isEmpty() || !closed.isEmpty() || offeringChanged) {
+                outbox.append(OutboxEvent.AGGREGATE_MENU, at.toLocalDate(),
+                    midnight ? EVENT_DAY_BOUNDARY : EVENT_WINDOW_BOUNDARY,
+                    OutboxService.payload("at", at.toString(), "opened", opened, "closed", closed));
+            }
+        } catch (RuntimeException e) {
+            log.warn("[MenuCalendar] boundary at {} failed: {}", at, e.getMessage());
+        } finally {
+            planNextBoundary(at);
+        }
+    }
+
+    // ── Index ──────────────────────────────────────────────────────────
+
+    private DayIndex indexFor(LocalDate date) {
+        MenuCache.Snapshot snapshot = menuCache.current();
+        DayIndex idx = current;
+        if (idx != null && idx.version == snapshot.version() && idx.date.equals(date)) {
+            return idx;
+        }
+        DayIndex built = new DayIndex(snapshot, date);
+        if (date.equals(today())) {
+            current = built;
+        }
+        return built;
+    }
+
+    private static String periodKey(String period) {
+        return period == null || period.isBlank() ? ALL_PERIODS : period.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static int minuteOf(LocalTime time) {
+        return time.getHour() * 60 + time.getMinute();
+    }
+
+    private static Set<Integer> ids(List<Meal> meals) {
+        return meals.stream().map(Meal::getId).collect(Collectors.toSet());
+    }
+
+    /** Interval index for one date against one menu snapshot. */
+    private static final class DayIndex {
+
+        final long version;
+        final LocalDate date;
+        final MenuCache.Snapshot snapshot;
+        final Map<Integer, MealSchedule> schedules = new HashMap<>();
+        /** Ids of available meals offered on this date, whatever the time. */
+        final Set<Integer> offered;
+        /** Every minute at which some offered meal opens or closes. */
+        final TreeSet<Integer> boundaries = new TreeSet<>();
+        final Map<String, TreeMap<Integer, List<Meal>>> byPeriod = new ConcurrentHashMap<>();
+
+        DayIndex(MenuCache.Snapshot snapshot, LocalDate date) {
+            this.version = snapshot.version();
+            this.date = date;
+            this.snapshot = snapshot;
+            for (Meal meal : snapshot.meals()) {
+                schedules.put(meal.getId(), MealSchedule.of(meal));
+            }
+            this.offered = snapshot.view(MenuCache.VIEW_AVAILABLE).stream()
+                .filter(m -> schedules.get(m.getId()).offeredOn(date))
+                .map(Meal::getId)
+                .collect(Collectors.toUnmodifiableSet());
+            for (Integer id : offered) {
+                MealSchedule s = schedules.get(id);
+                if (s.allDay()) continue;
+                boundaries.add(s.startMinute());
+                boundaries.add(s.endMinute());
+            }
+        }
+
+        MealSchedule schedule(Meal meal) {
+            MealSchedule s = schedules.get(meal.getId());
+            return s != null ? s : MealSchedule.of(meal);
+        }
+
+        List<Meal> lookup(String period, int minute) {
+            return byPeriod.computeIfAbsent(period, this::build).floorEntry(minute).getValue();
+        }
+
+        private TreeMap<Integer, List<Meal>> build(String period) {
+            List<Meal> candidates = snapshot
+                .view(period.isEmpty() ? MenuCache.VIEW_AVAILABLE : MenuCache.periodView(period)).stream()
+                .filter(m -> m.isAvailable() && offered.contains(m.getId()))
+                .toList();
+
+            TreeSet<Integer> points = new TreeSet<>();
+            points.add(0);
+            for (Meal m : candidates) {
+                MealSchedule s = schedules.get(m.getId());
+                points.add(s.startMinute());
+                points.add(s.endMinute() % MealSchedule.DAY_MINUTES);
+            }
+
+            TreeMap<Integer, List<Meal>> segments = new TreeMap<>();
+            for (int point : points) {
+                List<Meal> open = new ArrayList<>();
+                for (Meal m : candidates) {
+                    if (schedules.get(m.getId()).openAtMinute(point)) open.add(m);
+                }
+                segments.put(point, List.copyOf(open));
+            }
+            return segments;
+        }
+    }
+}
@@ -2,12 +2,24 @@ package com.traymate.backend.menu;
 
 import lombok.RequiredArgsConstructor;
 
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+import com.traymate.backend.common.FieldSelection;
+import com.traymate.backend.menu.dto.MenuSearchHit;
 import com.traymate.backend.menu.dto.UpdateMeal;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/menu")
@@ -15,30 +27,152 @@ import java.util.Map;
 public class MenuController {
 
     private final MenuService menuService;
+    private final MenuCache menuCache;
+    private final MenuSearchIndex menuSearchIndex;
+    private final MenuCalendar menuCalendar;
+
+    // Read endpoints are served from MenuCache as pre-rendered JSON bytes
+    // (gzipped when the client accepts it) and carry a strong ETag.
+    // Tablets send it back as If-None-Match and get a bodiless 304 until
+    // the menu actually changes — no query, no serialization.
+    //
+    // Optional ?lang= (e.g. the resident's "Español", or "es") returns flat
+    // LocalizedMealDto rows for that one language instead of Meal rows
+    // carrying every translation blob. Without it the legacy shape is kept.
+    //
+    // Optional ?fields= trims each row to the listed properties, or
+    // ?fields=summary for the grid-tile set (id, name, image, period, tags…).
+    //
+    // Optional nutrition ranges, inclusive: maxCalories, maxSodium,
+    // minProtein, maxFat, maxCarbohydrate, minFiber, maxSugar,
+    // maxCholesterol (every nutrient takes both min… and max…).
 
     @GetMapping
-    public List<Meal> getAllMeals(){
-        return menuService.getAllMeals();
+    public ResponseEntity<byte[]> getAllMeals(
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params, WebRequest request){
+        return serve(request, MenuCache.VIEW_ALL, lang, fields, NutritionFilter.fromParams(params));
     }
 
     @GetMapping("/available")
-    public List<Meal> getAvailableMeals(){
-        return menuService.getAvailableMeals();
+    public ResponseEntity<byte[]> getAvailableMeals(
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params, WebRequest request){
+        return serve(request, MenuCache.VIEW_AVAILABLE, lang, fields, NutritionFilter.fromParams(params));
     }
 
     @GetMapping("/period/{mealperiod}")
-    public List<Meal> getMealsByPeriod(@PathVariable String mealperiod) {
-        return menuService.getMealsByPeriod(mealperiod);
+    public ResponseEntity<byte[]> getMealsByPeriod(
+            @PathVariable String mealperiod,
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params, WebRequest request) {
+        return serve(request, MenuCache.periodView(mealperiod), lang, fields, NutritionFilter.fromParams(params));
     }
 
     @GetMapping("/period/drinks")
-    public List<Meal> getDrinks() {
-        return menuService.getDrinks();
+    public ResponseEntity<byte[]> getDrinks(
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params, WebRequest request) {
+        return serve(request, MenuCache.VIEW_DRINKS, lang, fields, NutritionFilter.fromParams(params));
     }
 
     @GetMapping("/period/sides")
-    public List<Meal> getSides() {
-        return menuService.getSides();
+    public ResponseEntity<byte[]> getSides(
+            @RequestParam(required = false) String lang,
+            @RequestParam(required = false) String fields,
+            @RequestParam Map<String, String> params, WebRequest request) {
+        return serve(request, MenuCache.VIEW_SIDES, lang, fields, NutritionFilter.fromParams(params));
+    }
+
+    /**
+     * Typo-tolerant search over names, tags, descriptions, ingredients and
+     * translations, e.g. /menu/search?q=soft bite&period=Breakfast&available=true.
+     * Answered from MenuSearchIndex in memory; results are tile-sized hits.
+     */
+    @GetMapping("/search")
+    public List<MenuSearchHit> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) Boolean available,
+            @RequestParam(defaultValue = "20") int limit) {
+        return menuSearchIndex.search(q, period, available, Math.max(1, Math.min(limit, 100)));
+    }
+
+    /**
+     * What a resident can actually order right now: available AND inside
+     * the dish's time window, days of week and season (see MealSchedule).
+     * ?period= narrows to one meal period; ?at= (facility-local ISO
+     * date-time) asks about another moment, e.g. tomorrow's breakfast.
+     */
+    @GetMapping("/orderable")
+    public List<Meal> getOrderable(
+            @RequestParam(required = false) String period,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return menuCalendar.orderable(period, at == null ? menuCalendar.now() : at);
+    }
+
+    /**
+     * Detail view: one meal, always the full record (plus ?lang= if given).
+     * List screens use ?fields=summary; this is what they open on tap.
+     */
+    @GetMapping("/{id:\\d+}")
+    public ResponseEntity<byte[]> getMeal(
+            @PathVariable Integer id,
+            @RequestParam(required = false) String lang, WebRequest request) {
+        return serve(request, MenuCache.mealView(id), lang, null, NutritionFilter.NONE);
+    }
+
+    private ResponseEntity<byte[]> serve(
+            WebRequest request, String view, String lang, String fields, NutritionFilter nutrition) {
+        String language = lang == null ? null : MenuLanguage.normalize(lang);
+        Set<String> selected = FieldSelection.parse(fields, MenuCache.MEAL_FIELDS, MenuCache.FIELD_PRESETS);
+        MenuCache.Snapshot snapshot = menuCache.current();
+        if (MenuCache.isMealView(view) && snapshot.view(view).isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Meal not found");
+        }
+        boolean gzip = acceptsGzip(request.getHeader(HttpHeaders.ACCEPT_ENCODING));
+        String etag = snapshot.etagFor(language, selected, nutrition, gzip);
+        if (request.checkNotModified(etag)) {
+            // Decided before render(): a revalidation never serializes,
+            // even for a variant the snapshot's render cache can't hold.
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(etag)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING)
+                .build();
+        }
+        MenuCache.Rendered rendered = snapshot.render(view, language, selected, nutrition);
+        // no-cache = "always revalidate", not "don't store": the tablet
+        // keeps its copy and asks with If-None-Match on every open.
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(MediaType.APPLICATION_JSON)
+            .eTag(etag)
+            .cacheControl(CacheControl.noCache())
+            .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(rendered.gzip());
+        }
+        return response.body(rendered.json());
+    }
+
+    // True unless the client didn't list gzip or explicitly refused it (q=0).
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) return false;
+        for (String part : acceptEncoding.split(",")) {
+            String[] tokens = part.trim().split(";");
+            String coding = tokens[0].trim();
+            if (!coding.equalsIgnoreCase("gzip") && !coding.equals("*")) continue;
+            for (int i = 1; i < tokens.length; i++) {
+                String param = tokens[i].trim().replace(" ", "");
+                if (param.equals("q=0") || param.matches("q=0\\.0*")) return false;
+            }
+            return true;
+        }
+        return false;
     }
 
     /**
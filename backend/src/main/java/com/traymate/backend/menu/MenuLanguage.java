@@ -0,0 +1,57 @@
+package com.traymate.backend.menu;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Maps whatever a client sends as {@code ?lang=} onto the display strings
+ * stored in Resident.language and used as keys in the meal translation
+ * JSON ("English", "Español", "Français", "中文").
+ *
+ * Accepts the display string itself, an ISO code ("es", "fr-CA", "zh-Hans")
+ * or the English name ("spanish"). Anything unrecognised falls back to
+ * English — same as the frontend does when a translation is missing.
+ */
+public final class MenuLanguage {
+
+    public static final String ENGLISH = "English";
+    public static final String SPANISH = "Español";
+    public static final String FRENCH = "Français";
+    public static final String CHINESE = "中文";
+
+    private static final Map<String, String> ALIASES = Map.ofEntries(
+        Map.entry("english", ENGLISH),  Map.entry("en", ENGLISH),
+        Map.entry("español", SPANISH),  Map.entry("espanol", SPANISH),
+        Map.entry("spanish", SPANISH),  Map.entry("es", SPANISH),
+        Map.entry("français", FRENCH),  Map.entry("francais", FRENCH),
+        Map.entry("french", FRENCH),    Map.entry("fr", FRENCH),
+        Map.entry("中文", CHINESE),      Map.entry("chinese", CHINESE),
+        Map.entry("zh", CHINESE)
+    );
+
+    private static final Map<String, String> CODES = Map.of(
+        ENGLISH, "en", SPANISH, "es", FRENCH, "fr", CHINESE, "zh"
+    );
+
+    private MenuLanguage() {}
+
+    /** Canonical display string for {@code lang}; English when blank or unknown. */
+    public static String normalize(String lang) {
+        if (lang == null || lang.isBlank()) return ENGLISH;
+        String key = lang.trim().toLowerCase(Locale.ROOT);
+        String hit = ALIASES.get(key);
+        if (hit != null) return hit;
+        // "es-MX", "zh_Hans" → primary subtag
+        int cut = key.indexOf('-') >= 0 ? key.indexOf('-') : key.indexOf('_');
+        if (cut > 0) {
+            hit = ALIASES.get(key.substring(0, cut));
+            if (hit != null) return hit;
+        }
+        return ENGLISH;
+    }
+
+    /** Short ASCII code for a canonical language, safe to put in an ETag. */
+    public static String code(String canonical) {
+        return CODES.getOrDefault(canonical, "en");
+    }
+}
@@ -1,8 +1,14 @@
 package com.traymate.backend.menu;
 
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
+import com.traymate.backend.menu.dto.MenuBatchRequest;
+import com.traymate.backend.menu.dto.MenuBatchResponse;
+
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
@@ -23,17 +29,37 @@ import org.springframework.web.server.ResponseStatusException;
 public class MenuMutationController {
 
     private final MealRepository mealRepository;
+    private final OutboxService outbox;
+    private final MenuCache menuCache;
+    private final MenuService menuService;
 
     /** Create a new meal. Returns 201 with the saved meal (id populated). */
     @PostMapping
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
     @ResponseStatus(HttpStatus.CREATED)
+    @Transactional
     public Meal create(@RequestBody Meal meal) {
         // Force-clear the id so callers can't overwrite an existing row by
         // sending an id in the body. New rows always start with id=null and
         // let JPA assign one via IDENTITY.
         meal.setId(null);
-        return mealRepository.save(meal);
+        MenuService.validateSchedule(meal);
+        Meal saved = mealRepository.save(meal);
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, saved.getId(), "meal.created", null);
+        menuCache.invalidate();
+        return saved;
+    }
+
+    /**
+     * Apply many availability toggles, creates, updates and deletes as one
+     * atomic change — e.g. hiding a dozen dishes when a delivery is short.
+     * See MenuBatchRequest for the body. Any invalid entry or unknown id
+     * rejects the whole batch (400/404) before anything is written.
+     */
+    @PostMapping("/batch")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    public MenuBatchResponse batch(@RequestBody MenuBatchRequest request) {
+        return menuService.applyBatch(request);
     }
 
     /**
@@ -43,6 +69,7 @@ public class MenuMutationController {
      */
     @PutMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    @Transactional
     public Meal update(@PathVariable Integer id, @RequestBody Meal incoming) {
         Meal existing = mealRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Meal not found"));
@@ -50,26 +77,13 @@ public class MenuMutationController {
         // Copy mutable fields over the existing row instead of overwriting
         // the whole entity reference. Keeps JPA's dirty tracking happy and
         // avoids accidentally nuking server-only fields if any get added later.
-        existing.setName(incoming.getName());
-        existing.setIngredients(incoming.getIngredients());
-        existing.setDescription(incoming.getDescription());
-        existing.setImageUrl(incoming.getImageUrl());
-        existing.setMealtype(incoming.getMealtype());
-        existing.setMealperiod(incoming.getMealperiod());
-        existing.setTimeRange(incoming.getTimeRange());
-        existing.setAllergenInfo(incoming.getAllergenInfo());
-        existing.setTags(incoming.getTags());
-        existing.setNameTranslations(incoming.getNameTranslations());
-        existing.setDescriptionTranslations(incoming.getDescriptionTranslations());
-        existing.setTagTranslations(incoming.getTagTranslations());
-        existing.setAvailable(incoming.isAvailable());
-        existing.setSeasonal(incoming.isSeasonal());
-        existing.setNutrition(incoming.getNutrition());
-        existing.setCalories(incoming.getCalories());
-        existing.setSodium(incoming.getSodium());
-        existing.setProtein(incoming.getProtein());
+        MenuService.validateSchedule(incoming);
+        MenuService.copyEditableFields(incoming, existing);
 
-        return mealRepository.save(existing);
+        Meal saved = mealRepository.save(existing);
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, saved.getId(), "meal.updated", null);
+        menuCache.invalidate();
+        return saved;
     }
 
     /**
@@ -79,6 +93,7 @@ public class MenuMutationController {
      */
     @PatchMapping("/{id}/translations")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    @Transactional
     public Meal updateTranslations(@PathVariable Integer id, @RequestBody Meal incoming) {
         Meal existing = mealRepository.findById(id)
             .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Meal not found"));
@@ -87,17 +102,23 @@ public class MenuMutationController {
         existing.setDescriptionTranslations(incoming.getDescriptionTranslations());
         existing.setTagTranslations(incoming.getTagTranslations());
 
-        return mealRepository.save(existing);
+        Meal saved = mealRepository.save(existing);
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, saved.getId(), "meal.translations_updated", null);
+        menuCache.invalidate();
+        return saved;
     }
 
     /** Delete a meal. Returns 204 on success, 404 if it didn't exist. */
     @DeleteMapping("/{id}")
     @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
     @ResponseStatus(HttpStatus.NO_CONTENT)
+    @Transactional
     public void delete(@PathVariable Integer id) {
         if (!mealRepository.existsById(id)) {
             throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Meal not found");
         }
         mealRepository.deleteById(id);
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, id, "meal.deleted", null);
+        menuCache.invalidate();
     }
 }
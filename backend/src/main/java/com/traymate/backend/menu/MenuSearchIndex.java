@@ -0,0 +1,322 @@
+package com.traymate.backend.menu;
+
+import com.traymate.backend.menu.dto.MenuSearchHit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index behind GET /menu/search.
+ *
+ * Indexed text: name, tags, description, ingredients and every translated
+ * name/description/tag, weighted so a hit in the name outranks one buried
+ * in the ingredient list. Text is lower-cased and accent-folded ("salmón"
+ * finds "salmon"); Han characters are indexed one per token since Chinese
+ * has no spaces.
+ *
+ * Each query token must match (AND), trying in order:
+ *   exact term → prefix of a term ("salm") → typo match via shared
+ *   trigrams + edit distance ("samlon", "brocoli")
+ * and a document's score is the sum of its best match per token.
+ *
+ * The index follows MenuCache: when the snapshot version moves it diffs
+ * the new snapshot against what it indexed and only re-tokenizes meals
+ * whose text changed. Availability/period edits just swap the Meal
+ * reference used by the filters.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MenuSearchIndex {
+
+    private static final float W_NAME = 4f;
+    private static final float W_TAGS = 3f;
+    private static final float W_TRANSLATED_NAME = 3f;
+    private static final float W_DESCRIPTION = 1.5f;
+    private static final float W_INGREDIENTS = 1f;
+    private static final float W_TRANSLATED_TEXT = 1f;
+
+    private static final float MATCH_EXACT = 1f;
+    private static final float MATCH_PREFIX = 0.7f;
+    private static final float MATCH_FUZZY = 0.45f;
+
+    /** Shortest token we try typo matching on — below this, everything is "one edit away". */
+    private static final int FUZZY_MIN_LENGTH = 4;
+    private static final double FUZZY_MIN_DICE = 0.35;
+
+    private final MenuCache menuCache;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    /** term → (mealId → best field weight). Sorted for prefix scans. */
+    private final TreeMap<String, Map<Integer, Float>> postings = new TreeMap<>();
+
+    /** trigram → terms containing it. */
+    private final Map<String, Set<String>> trigrams = new HashMap<>();
+
+    private final Map<Integer, IndexedMeal> docs = new HashMap<>();
+
+    private long indexedVersion = -1;
+
+    private record IndexedMeal(Meal meal, String source, Map<String, Float> terms) {}
+
+    /**
+     * @param period    optional; matched on MealPeriod bits like /menu/period/{p},
+     *                  so "lunch" also finds All Day meals and an unknown period finds nothing
+     * @param available optional; true = only orderable meals, false = only hidden ones
+     */
+    public List<MenuSearchHit> search(String query, String period, Boolean available, int limit) {
+        List<String> tokens = tokenize(query).stream().distinct().toList();
+        if (tokens.isEmpty()) return List.of();
+        syncIfStale();
+
+        Integer wantedPeriod = period == null || period.isBlank() ? null : MealPeriod.maskOf(period);
+
+        lock.readLock().lock();
+        try {
+            Map<Integer, Float> scores = null;
+            for (String token : tokens) {
+                Map<Integer, Float> tokenScores = matchToken(token);
+                if (scores == null) {
+                    scores = tokenScores;
+                } else {
+                    scores.keySet().retainAll(tokenScores.keySet());
+                    scores.replaceAll((id, s) -> s + tokenScores.get(id));
+                }
+                if (scores.isEmpty()) return List.of();
+            }
+
+            List<Map.Entry<Integer, Float>> ranked = new ArrayList<>();
+            for (Map.Entry<Integer, Float> e : scores.entrySet()) {
+                Meal meal = docs.get(e.getKey()).meal();
+                if (available != null && meal.isAvailable() != available) continue;
+                if (wantedPeriod != null && !MealPeriod.covers(meal.getPeriodMask(), wantedPeriod)) continue;
+                ranked.add(e);
+            }
+            ranked.sort(Map.Entry.<Integer, Float>comparingByValue().reversed()
+                .thenComparing(Map.Entry.comparingByKey()));
+
+            List<MenuSearchHit> hits = new ArrayList<>(Math.min(limit, ranked.size()));
+            for (Map.Entry<Integer, Float> e : ranked) {
+                if (hits.size() >= limit) break;
+                Meal m = docs.get(e.getKey()).meal();
+                hits.add(new MenuSearchHit(m.getId(), m.getName(), m.getImageUrl(), m.getMealtype(),
+                    m.getMealperiod(), m.getTags(), m.isAvailable(), Math.round(e.getValue() * 100) / 100.0));
+            }
+            return hits;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ── Matching ───────────────────────────────────────────────────
+
+    private Map<Integer, Float> matchToken(String token) {
+        Map<Integer, Float> out = new HashMap<>();
+        addAll(out, postings.get(token), MATCH_EXACT);
+
+        if (token.length() >= 2) {
+            for (Map<Integer, Float> docsForTerm
+                    : postings.subMap(token, false, token + Character.MAX_VALUE, true).values()) {
+                addAll(out, docsForTerm, MATCH_PREFIX);
+            }
+        }
+
+        // Typo tolerance only kicks in when nothing matched literally, so
+        // "salmon" never drags in "lemon" alongside the real salmon dishes.
+        if (out.isEmpty() && token.length() >= FUZZY_MIN_LENGTH) {
+            Set<String> grams = trigramsOf(token);
+            Map<String, Integer> shared = new HashMap<>();
+            for (String g : grams) {
+                for (String term : trigrams.getOrDefault(g, Set.of())) {
+                    shared.merge(term, 1, Integer::sum);
+                }
+            }
+            int maxEdits = token.length() <= 5 ? 1 : 2;
+            for (Map.Entry<String, Integer> c : shared.entrySet()) {
+                String term = c.getKey();
+                double dice = 2.0 * c.getValue() / (grams.size() + trigramsOf(term).size());
+                if (dice < FUZZY_MIN_DICE) continue;
+                int edits = editDistance(token, term, maxEdits);
+                if (edits > maxEdits) continue;
+                addAll(out, postings.get(term), MATCH_FUZZY * (1f - edits / (float) (token.length() + 1)));
+            }
+        }
+        return out;
+    }
+
+    private static void addAll(Map<Integer, Float> out, Map<Integer, Float> docsForTerm, float factor) {
+        if (docsForTerm == null) return;
+        docsForTerm.forEach((id, w) -> out.merge(id, w * factor, Math::max));
+    }
+
+    /** Levenshtein distance, giving up early (returns max + 1) once it exceeds {@code max}. */
+    static int editDistance(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) return max + 1;
+        int[] prev = new int[b.length() + 1];
+        int[] cur = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) prev[j] = j;
+        for (int i = 1; i <= a.length(); i++) {
+            cur[0] = i;
+            int rowMin = cur[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                cur[j] = Math.min(Math.min(cur[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, cur[j]);
+            }
+            if (rowMin > max) return max + 1;
+            int[] t = prev; prev = cur; cur = t;
+        }
+        return prev[b.length()];
+    }
+
+    // ── Index maintenance ──────────────────────────────────────────
+
+    private void syncIfStale() {
+        MenuCache.Snapshot snapshot = menuCache.current();
+        lock.readLock().lock();
+        try {
+            if (snapshot.version() == indexedVersion) return;
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        lock.writeLock().lock();
+        try {
+            if (snapshot.version() == indexedVersion) return;
+            Set<Integer> live = new HashSet<>();
+            int reindexed = 0;
+            for (Meal meal : snapshot.meals()) {
+                live.add(meal.getId());
+                String source = sourceOf(meal);
+                IndexedMeal existing = docs.get(meal.getId());
+                if (existing != null && existing.source().equals(source)) {
+                    docs.put(meal.getId(), new IndexedMeal(meal, source, existing.terms()));
+                    continue;
+                }
+                if (existing != null) removeDoc(meal.getId());
+                addDoc(meal, source);
+                reindexed++;
+            }
+            int removed = 0;
+            for (Integer id : new ArrayList<>(docs.keySet())) {
+                if (!live.contains(id)) {
+                    removeDoc(id);
+                    removed++;
+                }
+            }
+            indexedVersion = snapshot.version();
+            log.debug("[MenuSearchIndex] synced to v{} (reindexed={}, removed={}, terms={})",
+                indexedVersion, reindexed, removed, postings.size());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void addDoc(Meal meal, String source) {
+        Map<String, Float> terms = new HashMap<>();
+        index(terms, meal.getName(), W_NAME);
+        index(terms, meal.getTags(), W_TAGS);
+        index(terms, meal.getDescription(), W_DESCRIPTION);
+        index(terms, meal.getIngredients(), W_INGREDIENTS);
+        MealTranslations tr = menuCache.translationsFor(meal);
+        tr.allNames().forEach(t -> index(terms, t, W_TRANSLATED_NAME));
+        tr.allText().forEach(t -> index(terms, t, W_TRANSLATED_TEXT));
+
+        for (Map.Entry<String, Float> e : terms.entrySet()) {
+            Map<Integer, Float> docsForTerm = postings.get(e.getKey());
+            if (docsForTerm == null) {
+                docsForTerm = new HashMap<>();
+                postings.put(e.getKey(), docsForTerm);
+                for (String g : trigramsOf(e.getKey())) {
+                    trigrams.computeIfAbsent(g, k -> new HashSet<>()).add(e.getKey());
+                }
+            }
+            docsForTerm.put(meal.getId(), e.getValue());
+        }
+        docs.put(meal.getId(), new IndexedMeal(meal, source, terms));
+    }
+
+    private void removeDoc(Integer id) {
+        IndexedMeal doc = docs.remove(id);
+        if (doc == null) return;
+        for (String term : doc.terms().keySet()) {
+            Map<Integer, Float> docsForTerm = postings.get(term);
+            if (docsForTerm == null) continue;
+            docsForTerm.remove(id);
+            if (docsForTerm.isEmpty()) {
+                postings.remove(term);
+                for (String g : trigramsOf(term)) {
+                    Set<String> terms = trigrams.get(g);
+                    if (terms == null) continue;
+                    terms.remove(term);
+                    if (terms.isEmpty()) trigrams.remove(g);
+                }
+            }
+        }
+    }
+
+    private static void index(Map<String, Float> terms, String text, float weight) {
+        for (String token : tokenize(text)) {
+            terms.merge(token, weight, Math::max);
+        }
+    }
+
+    /** Everything the index reads from a meal; if this is unchanged the meal's postings are too. */
+    private static String sourceOf(Meal m) {
+        return String.join("\u0000",
+            String.valueOf(m.getName()), String.valueOf(m.getTags()),
+            String.valueOf(m.getDescription()), String.valueOf(m.getIngredients()),
+            String.valueOf(m.getNameTranslations()), String.valueOf(m.getDescriptionTranslations()),
+            String.valueOf(m.getTagTranslations()));
+    }
+
+    // ── Text handling ──────────────────────────────────────────────
+
+    /**
+     * Lower-case, strip accents, split on anything that isn't a letter or
+     * digit. Han characters become one token each. Single Latin letters
+     * are dropped — they'd match half the menu.
+     */
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        String folded = Normalizer.normalize(text, Normalizer.Form.NFD)
+            .replaceAll("\\p{M}+", "")
+            .toLowerCase(Locale.ROOT);
+        List<String> tokens = new ArrayList<>();
+        StringBuilder current = new StringBuilder();
+        for (int i = 0; i < folded.length(); ) {
+            int cp = folded.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.UnicodeScript.of(cp) == Character.UnicodeScript.HAN) {
+                flush(current, tokens);
+                tokens.add(new String(Character.toChars(cp)));
+            } else if (Character.isLetterOrDigit(cp)) {
+                current.appendCodePoint(cp);
+            } else {
+                flush(current, tokens);
+            }
+        }
+        flush(current, tokens);
+        return tokens;
+    }
+
+    private static void flush(StringBuilder current, List<String> tokens) {
+        if (current.length() >= 2) tokens.add(current.toString());
+        current.setLength(0);
+    }
+
+    private static Set<String> trigramsOf(String term) {
+        String padded = "$" + term + "$";
+        Set<String> out = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            out.add(padded.substring(i, i + 3));
+        }
+        return out;
+    }
+}
@@ -1,58 +1,84 @@
 package com.traymate.backend.menu;
 
-import com.traymate.backend.coverage.MealCoverageAlertService;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
+import com.traymate.backend.menu.dto.MenuBatchRequest;
+import com.traymate.backend.menu.dto.MenuBatchResponse;
 import com.traymate.backend.menu.dto.UpdateMeal;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.server.ResponseStatusException;
 
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class MenuService {
+
+    /** Upper bound on operations in one POST /menu/batch. */
+    static final int MAX_BATCH_OPERATIONS = 500;
+
     private final MealRepository mealRepository;
-    private final MealCoverageAlertService coverageAlertService;
+    private final OutboxService outbox;
+    private final MenuCache menuCache;
+
+    // Reads come from MenuCache's snapshot, not MySQL. Every write below
+    // must call menuCache.invalidate() or tablets keep the old menu.
 
     public List<Meal> getAllMeals(){
-        return mealRepository.findAll();
+        return menuCache.current().view(MenuCache.VIEW_ALL);
     }
 
     public List<Meal> getAvailableMeals(){
-        return mealRepository.findByAvailableTrue();
+        return menuCache.current().view(MenuCache.VIEW_AVAILABLE);
     }
 
     public List<Meal> getMealsByPeriod(String mealperiod){
-        return mealRepository.findByMealperiodContainingIgnoreCase(mealperiod);
+        return menuCache.current().view(MenuCache.periodView(mealperiod));
     }
 
     public List<Meal> getDrinks() {
-        return mealRepository.findByMealtypeIgnoreCase("Beverage");
+        return menuCache.current().view(MenuCache.VIEW_DRINKS);
     }
 
     public List<Meal> getSides() {
-        return mealRepository.findByMealtypeIgnoreCase("Side");
+        return menuCache.current().view(MenuCache.VIEW_SIDES);
     }
 
     /**
      * Toggle a single meal's `available` flag. Used by the kitchen-dashboard
      * hide/show icon to take a dish off the menu for every resident in one
      * click (next time any resident fetches /menu the flag is reflected).
+     *
+     * Coverage re-evaluation used to run inline here; it now hangs off the
+     * outbox event (see CoverageChangeListener) so the toggle returns as
+     * soon as the row is written.
      */
+    @Transactional
     public Meal setAvailability(Integer id, boolean available) {
         Meal meal = mealRepository.findById(id)
             .orElseThrow(() -> new IllegalArgumentException(
                 "Meal not found: " + id));
         meal.setAvailable(available);
         Meal saved = mealRepository.save(meal);
-        // Menu changes can push a resident off the "has safe options" cliff
-        // (or pull one back). Re-run coverage for everyone — cheaper than
-        // doing nothing and waiting for someone to hit a blocked order.
-        coverageAlertService.evaluateAllResidents();
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, saved.getId(), "meal.availability_changed",
+            OutboxService.payload("available", available));
+        menuCache.invalidate();
         return saved;
     }
 
     //edit meal
+    @Transactional
     public Meal updateMeal(Integer mealId, UpdateMeal req) {
 
         Meal meal = mealRepository.findById(mealId)
@@ -98,6 +124,162 @@ public class MenuService {
             meal.setAvailable(req.getAvailable());
         }
 
-        return mealRepository.save(meal);
+        Meal saved = mealRepository.save(meal);
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, saved.getId(), "meal.updated", null);
+        menuCache.invalidate();
+        return saved;
+    }
+
+    // ── Batch ────────────────────────────────────────────────────────────
+
+    /**
+     * Apply a whole POST /menu/batch in one transaction. Everything is
+     * validated before the first write, so a bad entry rejects the batch
+     * without touching the menu. Targets are loaded with a single
+     * findAllById, updates go out as JDBC batches on flush, deletes as one
+     * DELETE … IN. One outbox event and one cache bump cover the lot, so
+     * coverage re-evaluates once instead of once per toggled dish.
+     */
+    @Transactional
+    public MenuBatchResponse applyBatch(MenuBatchRequest req) {
+        if (req == null) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Request body is required");
+        }
+        List<MenuBatchRequest.AvailabilityChange> toggles = req.availabilityOrEmpty();
+        List<Meal> creates = req.createOrEmpty();
+        List<Meal> updates = req.updateOrEmpty();
+        List<Integer> deletes = req.deleteOrEmpty();
+
+        int total = toggles.size() + creates.size() + updates.size() + deletes.size();
+        if (total == 0) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Batch is empty");
+        }
+        if (total > MAX_BATCH_OPERATIONS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Batch exceeds " + MAX_BATCH_OPERATIONS + " operations");
+        }
+
+        // ── validate ─────────────────────────────────────────────────────
+        Set<Integer> targeted = new LinkedHashSet<>();
+        for (MenuBatchRequest.AvailabilityChange t : toggles) {
+            if (t == null || t.id() == null || t.available() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Each availability entry needs 'id' and 'available'");
+            }
+            claim(targeted, t.id());
+        }
+        for (Meal m : updates) {
+            if (m == null || m.getId() == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Each update entry needs an 'id'");
+            }
+            requireName(m);
+            validateSchedule(m);
+            claim(targeted, m.getId());
+        }
+        for (Integer id : deletes) {
+            if (id == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Delete ids must not be null");
+            }
+            claim(targeted, id);
+        }
+        for (Meal m : creates) {
+            if (m == null) {
+                throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Create entries must not be null");
+            }
+            requireName(m);
+            validateSchedule(m);
+        }
+
+        Map<Integer, Meal> existing = mealRepository.findAllById(targeted).stream()
+            .collect(Collectors.toMap(Meal::getId, Function.identity()));
+        List<Integer> missing = targeted.stream().filter(id -> !existing.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Meals not found: " + missing);
+        }
+
+        // ── apply ────────────────────────────────────────────────────────
+        List<Integer> toggled = new ArrayList<>();
+        for (MenuBatchRequest.AvailabilityChange t : toggles) {
+            existing.get(t.id()).setAvailable(t.available());
+            toggled.add(t.id());
+        }
+
+        List<Meal> updated = new ArrayList<>();
+        for (Meal incoming : updates) {
+            Meal target = existing.get(incoming.getId());
+            copyEditableFields(incoming, target);
+            updated.add(target);
+        }
+
+        creates.forEach(m -> m.setId(null));
+        List<Meal> created = mealRepository.saveAll(creates);
+
+        mealRepository.deleteAllInBatch(deletes.stream().map(existing::get).toList());
+
+        outbox.append(OutboxEvent.AGGREGATE_MEAL, null, "meal.batch_applied", OutboxService.payload(
+            "created", created.stream().map(Meal::getId).toList(),
+            "updated", updated.stream().map(Meal::getId).toList(),
+            "availabilityChanged", toggled,
+            "deleted", deletes));
+        menuCache.invalidate();
+
+        return new MenuBatchResponse(created, updated, toggled, List.copyOf(deletes));
+    }
+
+    /**
+     * PUT semantics shared by PUT /menu/{id} and batch updates: every
+     * client-editable column is overwritten from {@code source}. The id
+     * and the nutrition numbers derived by NutritionParser are left alone.
+     */
+    static void copyEditableFields(Meal source, Meal target) {
+        target.setName(source.getName());
+        target.setIngredients(source.getIngredients());
+        target.setDescription(source.getDescription());
+        target.setImageUrl(source.getImageUrl());
+        target.setMealtype(source.getMealtype());
+        target.setMealperiod(source.getMealperiod());
+        target.setTimeRange(source.getTimeRange());
+        target.setAvailableDays(source.getAvailableDays());
+        target.setSeasonStart(source.getSeasonStart());
+        target.setSeasonEnd(source.getSeasonEnd());
+        target.setAllergenInfo(source.getAllergenInfo());
+        target.setTags(source.getTags());
+        target.setNameTranslations(source.getNameTranslations());
+        target.setDescriptionTranslations(source.getDescriptionTranslations());
+        target.setTagTranslations(source.getTagTranslations());
+        target.setAvailable(source.isAvailable());
+        target.setSeasonal(source.isSeasonal());
+        target.setNutrition(source.getNutrition());
+        target.setCalories(source.getCalories());
+        target.setSodium(source.getSodium());
+        target.setProtein(source.getProtein());
+    }
+
+    /**
+     * Reject schedule strings MealSchedule can't read. Reads are lenient
+     * (an unparseable window just means "always open"), so this is the
+     * only place a typo like "7am-10" gets caught.
+     */
+    static void validateSchedule(Meal meal) {
+        try {
+            MealSchedule.validateTimeRange(meal.getTimeRange());
+            MealSchedule.validateDays(meal.getAvailableDays());
+            MealSchedule.validateSeason(meal.getSeasonStart(), meal.getSeasonEnd());
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private static void claim(Set<Integer> targeted, Integer id) {
+        if (!targeted.add(id)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                "Meal " + id + " appears more than once in the batch");
+        }
+    }
+
+    private static void requireName(Meal meal) {
+        if (meal.getName() == null || meal.getName().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Meal name is required");
+        }
     }
 }
@@ -0,0 +1,52 @@
+package com.traymate.backend.menu;
+
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+
+/**
+ * The numeric nutrition fields on Meal. Used by NutritionParser to know
+ * which label in the free-text `nutrition` column feeds which column, and
+ * by NutritionFilter to map ?maxSugar= / ?minProtein= style params onto
+ * the right getter.
+ *
+ * Units follow the nutrition text: calories in kcal, sodium and
+ * cholesterol in mg, everything else in g.
+ */
+public enum Nutrient {
+
+    CALORIES("Calories", Meal::getCalories, Meal::setCalories),
+    SODIUM("Sodium", Meal::getSodium, Meal::setSodium),
+    PROTEIN("Protein", Meal::getProtein, Meal::setProtein),
+    TOTAL_FAT("Fat", Meal::getTotalFat, Meal::setTotalFat),
+    CARBOHYDRATE("Carbohydrate", Meal::getCarbohydrate, Meal::setCarbohydrate),
+    FIBER("Fiber", Meal::getFiber, Meal::setFiber),
+    SUGAR("Sugar", Meal::getSugar, Meal::setSugar),
+    CHOLESTEROL("Cholesterol", Meal::getCholesterol, Meal::setCholesterol);
+
+    /** Query-param stem: maxSugar / minSugar. */
+    private final String paramSuffix;
+    private final Function<Meal, Integer> getter;
+    private final BiConsumer<Meal, Integer> setter;
+
+    Nutrient(String paramSuffix, Function<Meal, Integer> getter, BiConsumer<Meal, Integer> setter) {
+        this.paramSuffix = paramSuffix;
+        this.getter = getter;
+        this.setter = setter;
+    }
+
+    public String maxParam() {
+        return "max" + paramSuffix;
+    }
+
+    public String minParam() {
+        return "min" + paramSuffix;
+    }
+
+    public Integer get(Meal meal) {
+        return getter.apply(meal);
+    }
+
+    void set(Meal meal, Integer value) {
+        setter.accept(meal, value);
+    }
+}
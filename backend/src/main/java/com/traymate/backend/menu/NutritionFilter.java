@@ -0,0 +1,82 @@
+package com.traymate.backend.menu;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.StringJoiner;
+
+/**
+ * Nutrition range filter for the menu list endpoints, built from query
+ * params like ?maxSugar=25&maxSodium=600&minProtein=15 (see Nutrient for
+ * the names). Bounds are inclusive. A meal whose value for a filtered
+ * nutrient is unknown (null) is excluded — "no data" shouldn't pass a
+ * diabetic's sugar cap.
+ */
+public final class NutritionFilter {
+
+    public static final NutritionFilter NONE = new NutritionFilter(
+        new EnumMap<>(Nutrient.class), new EnumMap<>(Nutrient.class));
+
+    private final Map<Nutrient, Integer> min;
+    private final Map<Nutrient, Integer> max;
+
+    private NutritionFilter(Map<Nutrient, Integer> min, Map<Nutrient, Integer> max) {
+        this.min = min;
+        this.max = max;
+    }
+
+    /** Picks the min/max params out of a request's query map; unrelated params are ignored. */
+    public static NutritionFilter fromParams(Map<String, String> params) {
+        Map<Nutrient, Integer> min = new EnumMap<>(Nutrient.class);
+        Map<Nutrient, Integer> max = new EnumMap<>(Nutrient.class);
+        for (Nutrient n : Nutrient.values()) {
+            Integer lo = parseBound(params, n.minParam());
+            Integer hi = parseBound(params, n.maxParam());
+            if (lo != null) min.put(n, lo);
+            if (hi != null) max.put(n, hi);
+        }
+        return min.isEmpty() && max.isEmpty() ? NONE : new NutritionFilter(min, max);
+    }
+
+    public boolean isEmpty() {
+        return min.isEmpty() && max.isEmpty();
+    }
+
+    /** Nutrients this filter constrains. */
+    public Iterable<Nutrient> nutrients() {
+        EnumMap<Nutrient, Boolean> all = new EnumMap<>(Nutrient.class);
+        min.keySet().forEach(n -> all.put(n, true));
+        max.keySet().forEach(n -> all.put(n, true));
+        return all.keySet();
+    }
+
+    public Integer min(Nutrient n) {
+        return min.get(n);
+    }
+
+    public Integer max(Nutrient n) {
+        return max.get(n);
+    }
+
+    /** Canonical string form, stable across param order — used in cache keys. */
+    public String key() {
+        StringJoiner joiner = new StringJoiner(",");
+        for (Nutrient n : Nutrient.values()) {
+            if (min.containsKey(n)) joiner.add(n.minParam() + "=" + min.get(n));
+            if (max.containsKey(n)) joiner.add(n.maxParam() + "=" + max.get(n));
+        }
+        return joiner.toString();
+    }
+
+    private static Integer parseBound(Map<String, String> params, String name) {
+        String raw = params.get(name);
+        if (raw == null || raw.isBlank()) return null;
+        try {
+            return Integer.valueOf(raw.trim());
+        } catch (NumberFormatException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, name + " must be a whole number");
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package com.traymate.backend.menu;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pulls numbers out of the free-text `nutrition` column, e.g.
+ *
+ *   "Calories: 310, Total Fat: 14g, Cholesterol: 285mg, Carbohydrate: 28g,
+ *    Fiber: 3g, Sugar: 3g, Sodium: 360mg, Protein: 17g"
+ *
+ * Runs from Meal's @PrePersist/@PreUpdate so every write path — create,
+ * PUT, kitchen edit, seeders — keeps the numeric columns in step with the
+ * text, and readers (compliance rules, menu filters) use plain integers.
+ * MealDerivedColumnsBackfill runs the same parser over rows that predate this.
+ *
+ * Decimals are rounded ("2.5g" → 3). A label that's missing from the text
+ * leaves that column null — "unknown", not zero.
+ */
+public final class NutritionParser {
+
+    private static final String NUMBER = "\\s*:?\\s*(\\d+(?:\\.\\d+)?)";
+
+    // "Fat" has to skip "Saturated Fat"/"Trans Fat"; prefer "Total Fat".
+    private static final Map<Nutrient, Pattern> PATTERNS = new EnumMap<>(Map.of(
+        Nutrient.CALORIES,     Pattern.compile("(?i)\\bcalories" + NUMBER),
+        Nutrient.SODIUM,       Pattern.compile("(?i)\\bsodium" + NUMBER),
+        Nutrient.PROTEIN,      Pattern.compile("(?i)\\bprotein" + NUMBER),
+        Nutrient.TOTAL_FAT,    Pattern.compile("(?i)(?:\\btotal\\s+fat|(?<!saturated )(?<!trans )\\bfat)" + NUMBER),
+        Nutrient.CARBOHYDRATE, Pattern.compile("(?i)\\b(?:total\\s+)?carbohydrates?" + NUMBER),
+        Nutrient.FIBER,        Pattern.compile("(?i)\\b(?:dietary\\s+)?fiber" + NUMBER),
+        Nutrient.SUGAR,        Pattern.compile("(?i)\\b(?:total\\s+)?sugars?" + NUMBER),
+        Nutrient.CHOLESTEROL,  Pattern.compile("(?i)\\bcholesterol" + NUMBER)
+    ));
+
+    private NutritionParser() {}
+
+    /** Every nutrient found in {@code text}; absent labels are simply missing from the map. */
+    public static Map<Nutrient, Integer> parse(String text) {
+        Map<Nutrient, Integer> out = new EnumMap<>(Nutrient.class);
+        if (text == null || text.isBlank()) return out;
+        for (Map.Entry<Nutrient, Pattern> e : PATTERNS.entrySet()) {
+            Matcher m = e.getValue().matcher(text);
+            if (m.find()) {
+                out.put(e.getKey(), (int) Math.round(Double.parseDouble(m.group(1))));
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Refresh the derived columns from meal.nutrition. Fat/carbs/fiber/sugar/
+     * cholesterol always follow the text. Calories, sodium and protein are
+     * first-class editable columns, so the text only fills them when empty.
+     */
+    static void apply(Meal meal) {
+        Map<Nutrient, Integer> parsed = parse(meal.getNutrition());
+        for (Nutrient n : Nutrient.values()) {
+            boolean explicitColumn = n == Nutrient.CALORIES || n == Nutrient.SODIUM || n == Nutrient.PROTEIN;
+            if (explicitColumn) {
+                if (n.get(meal) == null && parsed.containsKey(n)) n.set(meal, parsed.get(n));
+            } else {
+                n.set(meal, parsed.get(n));
+            }
+        }
+    }
+}
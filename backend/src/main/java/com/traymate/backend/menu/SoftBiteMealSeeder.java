@@ -1,19 +1,51 @@
 package com.traymate.backend.menu;
 
+import com.traymate.backend.tabletmode.AppSetting;
+import com.traymate.backend.tabletmode.AppSettingRepository;
+
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HexFormat;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Upserts the soft-bite meal set by name.
+ *
+ * Runs once the app reports ready (not as a CommandLineRunner) so Render's
+ * health check and the first requests aren't held up behind it. All seeded
+ * rows are loaded in one query, diffed in memory, and only new or changed
+ * rows are written, in one saveAll. A SHA-256 of the spec list is kept in
+ * app_settings; when it matches, startup seeding is skipped outright.
+ * SoftBiteSeedController forces a full diff regardless of the checksum.
+ */
 @Slf4j
 @Component
 @RequiredArgsConstructor
-public class SoftBiteMealSeeder implements CommandLineRunner {
+public class SoftBiteMealSeeder {
+
+    static final String CHECKSUM_KEY = "seed.soft-bite.checksum";
 
     private final MealRepository mealRepository;
+    private final AppSettingRepository appSettingRepository;
+    private final MenuCache menuCache;
+
+    public record SeedResult(boolean skipped, int created, int updated, int unchanged) {}
 
     private record SoftBiteMealSpec(
         String name,
@@ -243,46 +275,109 @@ public class SoftBiteMealSeeder implements CommandLineRunner {
         )
     );
 
-    @Override
-    public void run(String... args) {
+    @Order(1)
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedOnStartup() {
         try {
-            List<Meal> toSave = new ArrayList<>();
-            int created = 0;
-            int updated = 0;
+            seed(false);
+        } catch (Exception e) {
+            log.warn("[SoftBiteMealSeeder] Failed to seed soft-bite meals: {}", e.getMessage());
+        }
+    }
 
-            for (SoftBiteMealSpec spec : SOFT_BITE_MEALS) {
-                Meal meal = mealRepository.findByNameIgnoreCase(spec.name()).orElseGet(Meal::new);
-                boolean isNew = meal.getId() == null;
+    /**
+     * Brings the seeded rows in line with SOFT_BITE_MEALS. With
+     * {@code force=false} this is a no-op when the spec list hasn't changed
+     * since the last successful seed.
+     */
+    public SeedResult seed(boolean force) {
+        String checksum = checksum();
+        if (!force && appSettingRepository.findById(CHECKSUM_KEY)
+                .map(s -> checksum.equals(s.getValue()))
+                .orElse(false)) {
+            log.info("[SoftBiteMealSeeder] Seed unchanged (checksum {}), skipping", checksum.substring(0, 12));
+            return new SeedResult(true, 0, 0, SOFT_BITE_MEALS.size());
+        }
 
-                meal.setName(spec.name());
-                meal.setIngredients(spec.ingredients());
-                meal.setDescription(spec.description());
-                meal.setImageUrl(spec.imageUrl());
-                meal.setMealtype(spec.mealtype());
-                meal.setMealperiod(spec.mealperiod());
-                meal.setTimeRange(spec.timeRange());
-                meal.setAllergenInfo(spec.allergenInfo());
-                meal.setTags(spec.tags());
-                meal.setSeasonal(spec.seasonal());
-                meal.setCalories(spec.calories());
-                meal.setSodium(spec.sodium());
-                meal.setProtein(spec.protein());
-                meal.setNutrition(spec.nutrition());
+        List<String> lowerNames = SOFT_BITE_MEALS.stream()
+            .map(spec -> spec.name().toLowerCase(Locale.ROOT))
+            .toList();
+        // Duplicate names (differing only by case) shouldn't exist, but if
+        // they do keep the lowest id — the row findByNameIgnoreCase found first.
+        Map<String, Meal> existing = mealRepository.findByLowerNameIn(lowerNames).stream()
+            .collect(Collectors.toMap(
+                m -> m.getName().toLowerCase(Locale.ROOT),
+                Function.identity(),
+                (a, b) -> a.getId() <= b.getId() ? a : b));
 
-                if (isNew) {
-                    meal.setAvailable(true);
-                    created++;
-                } else {
-                    updated++;
-                }
+        List<Meal> toSave = new ArrayList<>();
+        int created = 0;
+        int updated = 0;
 
+        for (SoftBiteMealSpec spec : SOFT_BITE_MEALS) {
+            Meal meal = existing.get(spec.name().toLowerCase(Locale.ROOT));
+            if (meal == null) {
+                meal = new Meal();
+                meal.setAvailable(true);
+                apply(meal, spec);
                 toSave.add(meal);
+                created++;
+            } else if (apply(meal, spec)) {
+                toSave.add(meal);
+                updated++;
             }
+        }
 
+        if (!toSave.isEmpty()) {
             mealRepository.saveAll(toSave);
-            log.info("[SoftBiteMealSeeder] Seed complete - created={}, updated={}", created, updated);
-        } catch (Exception e) {
-            log.warn("[SoftBiteMealSeeder] Failed to seed soft-bite meals: {}", e.getMessage());
+            menuCache.invalidate();
+        }
+        appSettingRepository.save(new AppSetting(CHECKSUM_KEY, checksum, OffsetDateTime.now()));
+
+        int unchanged = SOFT_BITE_MEALS.size() - created - updated;
+        log.info("[SoftBiteMealSeeder] Seed complete - created={}, updated={}, unchanged={}",
+            created, updated, unchanged);
+        return new SeedResult(false, created, updated, unchanged);
+    }
+
+    /** Copies the spec onto the meal; returns true if any column actually changed. */
+    private static boolean apply(Meal meal, SoftBiteMealSpec spec) {
+        boolean changed = false;
+        changed |= set(meal.getName(), spec.name(), meal::setName);
+        changed |= set(meal.getIngredients(), spec.ingredients(), meal::setIngredients);
+        changed |= set(meal.getDescription(), spec.description(), meal::setDescription);
+        changed |= set(meal.getImageUrl(), spec.imageUrl(), meal::setImageUrl);
+        changed |= set(meal.getMealtype(), spec.mealtype(), meal::setMealtype);
+        changed |= set(meal.getMealperiod(), spec.mealperiod(), meal::setMealperiod);
+        changed |= set(meal.getTimeRange(), spec.timeRange(), meal::setTimeRange);
+        changed |= set(meal.getAllergenInfo(), spec.allergenInfo(), meal::setAllergenInfo);
+        changed |= set(meal.getTags(), spec.tags(), meal::setTags);
+        changed |= set(meal.isSeasonal(), spec.seasonal(), meal::setSeasonal);
+        changed |= set(meal.getCalories(), spec.calories(), meal::setCalories);
+        changed |= set(meal.getSodium(), spec.sodium(), meal::setSodium);
+        changed |= set(meal.getProtein(), spec.protein(), meal::setProtein);
+        changed |= set(meal.getNutrition(), spec.nutrition(), meal::setNutrition);
+        return changed;
+    }
+
+    private static <T> boolean set(T current, T desired, Consumer<T> setter) {
+        if (Objects.equals(current, desired)) return false;
+        setter.accept(desired);
+        return true;
+    }
+
+    // Record toString() covers every component in declaration order, so any
+    // edit to the spec list — including adding a field — changes the hash.
+    private static String checksum() {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (SoftBiteMealSpec spec : SOFT_BITE_MEALS) {
+                digest.update(spec.toString().getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) '\n');
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 unavailable", e);
         }
     }
 }
@@ -13,14 +13,16 @@ import java.util.Map;
 /**
  * Admin-only endpoint to re-run the SoftBiteMealSeeder on demand.
  *
- * The seeder also fires once at application startup (it implements
- * CommandLineRunner), but that requires a full container restart. On
+ * The seeder also fires once at application startup (on
+ * ApplicationReadyEvent), but that requires a full container restart. On
  * Render's free tier the JVM is paused/resumed rather than restarted,
  * so changes to the seeded meal list don't take effect until the next
  * cold deploy. This endpoint lets an admin reseed without a redeploy.
  *
  * The underlying seeder is idempotent — it upserts each meal by name —
- * so calling this repeatedly is safe.
+ * so calling this repeatedly is safe. Unlike the startup run it ignores
+ * the stored seed checksum, so it also restores seeded rows that were
+ * edited by hand.
  */
 @Slf4j
 @RestController
@@ -35,12 +37,15 @@ public class SoftBiteSeedController {
     public ResponseEntity<Map<String, Object>> reseedSoftBite() {
         long started = System.currentTimeMillis();
         try {
-            softBiteMealSeeder.run();
+            SoftBiteMealSeeder.SeedResult result = softBiteMealSeeder.seed(true);
             long durationMs = System.currentTimeMillis() - started;
             log.info("[SoftBiteSeedController] Manual reseed complete in {}ms", durationMs);
             return ResponseEntity.ok(Map.of(
                 "status", "ok",
-                "durationMs", durationMs
+                "durationMs", durationMs,
+                "created", result.created(),
+                "updated", result.updated(),
+                "unchanged", result.unchanged()
             ));
         } catch (Exception e) {
             log.warn("[SoftBiteSeedController] Manual reseed failed: {}", e.getMessage());
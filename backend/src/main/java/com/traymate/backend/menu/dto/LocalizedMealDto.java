@@ -0,0 +1,38 @@
+package com.traymate.backend.menu.dto;
+
+/**
+ * A Meal flattened into a single language — what GET /menu?lang=… returns.
+ *
+ * Same field names as Meal so the tablet can render either shape, minus
+ * the three *Translations JSON blobs: name, description and tags are
+ * already resolved for {@code language}, falling back to the English
+ * value wherever a translation is missing.
+ */
+public record LocalizedMealDto(
+    Integer id,
+    String language,
+    String name,
+    String description,
+    String ingredients,
+    String imageUrl,
+    String imageKey,
+    String mealtype,
+    String mealperiod,
+    String timeRange,
+    String availableDays,
+    String seasonStart,
+    String seasonEnd,
+    String allergenInfo,
+    String tags,
+    boolean available,
+    boolean seasonal,
+    String nutrition,
+    Integer calories,
+    Integer sodium,
+    Integer protein,
+    Integer totalFat,
+    Integer carbohydrate,
+    Integer fiber,
+    Integer sugar,
+    Integer cholesterol
+) {}
@@ -0,0 +1,42 @@
+package com.traymate.backend.menu.dto;
+
+import com.traymate.backend.menu.Meal;
+
+import java.util.List;
+
+/**
+ * Body of POST /menu/batch. Every list is optional; all of it is applied
+ * in one transaction or none of it is.
+ *
+ *   availability  [{ "id": 12, "available": false }, ...]
+ *   create        full Meal bodies, same as POST /menu (ids are ignored)
+ *   update        full Meal bodies with id, same PUT semantics as /menu/{id}
+ *   delete        [31, 32]
+ *
+ * A meal id may appear in at most one of availability / update / delete.
+ */
+public record MenuBatchRequest(
+    List<AvailabilityChange> availability,
+    List<Meal> create,
+    List<Meal> update,
+    List<Integer> delete
+) {
+
+    public record AvailabilityChange(Integer id, Boolean available) {}
+
+    public List<AvailabilityChange> availabilityOrEmpty() {
+        return availability == null ? List.of() : availability;
+    }
+
+    public List<Meal> createOrEmpty() {
+        return create == null ? List.of() : create;
+    }
+
+    public List<Meal> updateOrEmpty() {
+        return update == null ? List.of() : update;
+    }
+
+    public List<Integer> deleteOrEmpty() {
+        return delete == null ? List.of() : delete;
+    }
+}
@@ -0,0 +1,13 @@
+package com.traymate.backend.menu.dto;
+
+import com.traymate.backend.menu.Meal;
+
+import java.util.List;
+
+/** Result of POST /menu/batch: the saved rows plus the ids toggled or removed. */
+public record MenuBatchResponse(
+    List<Meal> created,
+    List<Meal> updated,
+    List<Integer> availabilityChanged,
+    List<Integer> deleted
+) {}
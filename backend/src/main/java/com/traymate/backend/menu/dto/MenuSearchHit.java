@@ -0,0 +1,16 @@
+package com.traymate.backend.menu.dto;
+
+/**
+ * One GET /menu/search result: enough to draw a menu tile. The tablet
+ * opens GET /menu/{id} for the full record.
+ */
+public record MenuSearchHit(
+    Integer id,
+    String name,
+    String imageUrl,
+    String mealtype,
+    String mealperiod,
+    String tags,
+    boolean available,
+    double score
+) {}
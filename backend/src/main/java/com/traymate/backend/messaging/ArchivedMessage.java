@@ -0,0 +1,38 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * A message moved out of the live message table by MessageRetentionJob.
+ * Keeps the original id, so keyset paging, read watermarks and the
+ * conversation summary's last_message_id still line up with it.
+ */
+@Entity
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "message_archive")
+public class ArchivedMessage {
+
+    @Id
+    private Long id;
+
+    @Column(name = "sender_id")
+    private Long senderId;
+
+    @Column(name = "receiver_id")
+    private Long receiverId;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "created_at")
+    private LocalDateTime createdAt;
+
+    @Column(name = "archived_at", nullable = false)
+    private LocalDateTime archivedAt;
+}
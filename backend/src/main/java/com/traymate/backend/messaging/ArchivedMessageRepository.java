@@ -0,0 +1,42 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ArchivedMessageRepository extends JpaRepository<ArchivedMessage, Long> {
+
+    //copy live rows into the archive in one statement; IGNORE makes a
+    //retried chunk (copied but not yet deleted) harmless
+    @Modifying
+    @Query(value = """
+        INSERT IGNORE INTO message_archive (id, sender_id, receiver_id, content, created_at, archived_at)
+        SELECT id, sender_id, receiver_id, content, created_at, :now
+          FROM message
+         WHERE id IN (:ids)
+    """, nativeQuery = true)
+    int copyFromMessages(Collection<Long> ids, LocalDateTime now);
+
+    //one page of an archived conversation, newest first, keyset on id
+    @Query("""
+        SELECT a FROM ArchivedMessage a
+        WHERE ((a.senderId = :userId AND a.receiverId = :otherUserId)
+            OR (a.senderId = :otherUserId AND a.receiverId = :userId))
+        AND a.id < :beforeId
+        ORDER BY a.id DESC
+    """)
+    List<ArchivedMessage> findConversationBefore(Long userId, Long otherUserId, Long beforeId, Pageable page);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ArchivedMessage a
+        WHERE (a.senderId = :userId AND a.receiverId = :otherUserId)
+        OR (a.senderId = :otherUserId AND a.receiverId = :userId)
+    """)
+    int deleteConversation(Long userId, Long otherUserId);
+}
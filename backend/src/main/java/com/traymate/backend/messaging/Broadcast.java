@@ -0,0 +1,38 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One message to every user with {@code audienceRole} ("lunch is delayed
+ * 15 minutes" → all ROLE_CAREGIVER). Stored once, not per recipient;
+ * each recipient's read state is a BroadcastRead watermark, and
+ * broadcasts are merged into /messages/chats when it's read.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "broadcast_message")
+public class Broadcast {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "sender_id", nullable = false)
+    private Long senderId;
+
+    @Column(name = "audience_role", nullable = false, length = 50)
+    private String audienceRole;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,44 @@
+package com.traymate.backend.messaging;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Newest broadcast to {@code audienceRole} that {@code userId} has seen —
+ * the broadcast counterpart of ConversationRead.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(BroadcastRead.Key.class)
+@Table(name = "broadcast_read")
+public class BroadcastRead {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "audience_role", length = 50)
+    private String audienceRole;
+
+    @Column(name = "last_read_broadcast_id", nullable = false)
+    private Long lastReadBroadcastId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private String audienceRole;
+    }
+}
@@ -0,0 +1,28 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BroadcastReadRepository extends JpaRepository<BroadcastRead, BroadcastRead.Key> {
+
+    @Query("""
+        SELECT r.lastReadBroadcastId FROM BroadcastRead r
+        WHERE r.userId = :userId AND r.audienceRole = :audienceRole
+    """)
+    Optional<Long> findWatermark(Long userId, String audienceRole);
+
+    //forward-only, same as ConversationReadRepository.advance
+    @Modifying
+    @Query(value = """
+        INSERT INTO broadcast_read (user_id, audience_role, last_read_broadcast_id, updated_at)
+        VALUES (:userId, :audienceRole, :broadcastId, :now)
+        ON DUPLICATE KEY UPDATE
+            updated_at             = IF(VALUES(last_read_broadcast_id) > last_read_broadcast_id, VALUES(updated_at), updated_at),
+            last_read_broadcast_id = GREATEST(last_read_broadcast_id, VALUES(last_read_broadcast_id))
+    """, nativeQuery = true)
+    void advance(Long userId, String audienceRole, Long broadcastId, LocalDateTime now);
+}
@@ -0,0 +1,31 @@
+package com.traymate.backend.messaging;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+public interface BroadcastRepository extends JpaRepository<Broadcast, Long> {
+
+    //newest broadcast on a channel — the chat-list row
+    Optional<Broadcast> findFirstByAudienceRoleOrderByIdDesc(String audienceRole);
+
+    //a channel's history, newest first (pass a PageRequest)
+    @Query("""
+        SELECT b FROM Broadcast b
+        WHERE b.audienceRole = :audienceRole
+        ORDER BY b.id DESC
+    """)
+    List<Broadcast> findNewest(String audienceRole, Pageable page);
+
+    long countByAudienceRoleAndIdGreaterThan(String audienceRole, Long afterId);
+
+    //channels this user has broadcast to, so the sender sees them in /chats
+    @Query("""
+        SELECT DISTINCT b.audienceRole FROM Broadcast b
+        WHERE b.senderId = :senderId
+    """)
+    List<String> findRolesSentBy(Long senderId);
+}
@@ -0,0 +1,204 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.server.ResponseStatusException;
+
+import com.traymate.backend.auth.model.User;
+import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.service.UserAccountChangedEvent;
+import com.traymate.backend.messaging.dto.BroadcastRequest;
+import com.traymate.backend.messaging.dto.BroadcastResponse;
+import com.traymate.backend.messaging.dto.ChatResponse;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Role-wide broadcasts ("all caregivers", "all kitchen staff"). A send is
+ * one broadcast_message row however many users hold the role; recipients
+ * are resolved when they read — their own role's channel shows up in
+ * /messages/chats, with unread counted against their broadcast_read
+ * watermark.
+ *
+ * A user only owes what was broadcast after they joined: registration
+ * seeds the watermark at the channel's newest id (0 for an empty
+ * channel), and a member with no row yet — accounts older than this, or
+ * a role change — is seeded the same way on first access, instead of
+ * finding the channel's whole history unread.
+ */
+@Service
+@RequiredArgsConstructor
+public class BroadcastService {
+
+    /** Roles allowed to broadcast; mirrors the @PreAuthorize on the endpoint. */
+    static final Set<String> BROADCASTER_ROLES = Set.of("ROLE_ADMIN", "ROLE_KITCHEN_STAFF", "ROLE_KITCHEN");
+
+    static final int DEFAULT_HISTORY = 50;
+    static final int MAX_HISTORY = 200;
+
+    private final BroadcastRepository broadcasts;
+    private final BroadcastReadRepository reads;
+    private final UserRepository userRepository;
+
+    @Transactional
+    public BroadcastResponse send(User sender, BroadcastRequest req) {
+        if (req == null || req.getRole() == null || req.getRole().isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "role is required");
+        }
+        if (req.getContent() == null || req.getContent().trim().isEmpty()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "content is required");
+        }
+        String role = req.getRole().trim();
+        long recipients = userRepository.countByRole(role);
+        if (recipients == 0) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No users have role " + role);
+        }
+
+        Broadcast saved = broadcasts.save(Broadcast.builder()
+                .senderId(sender.getId())
+                .audienceRole(role)
+                .content(req.getContent().trim())
+                .createdAt(LocalDateTime.now())
+                .build());
+
+        // your own broadcast isn't unread for you
+        if (role.equals(sender.getRole())) {
+            reads.advance(sender.getId(), role, saved.getId(), LocalDateTime.now());
+        }
+
+        BroadcastResponse response = toResponse(saved, sender, true);
+        response.setRecipientCount(recipients);
+        return response;
+    }
+
+    /**
+     * A channel's newest broadcasts, returned oldest → newest. Reading your
+     * own role's channel marks it read. Broadcasters can also read channels
+     * they don't belong to (to see what went out), without a watermark.
+     */
+    @Transactional
+    public List<BroadcastResponse> history(User user, String role, Integer limit) {
+        String channel = role == null || role.isBlank() ? user.getRole() : role.trim();
+        boolean member = channel != null && channel.equals(user.getRole());
+        if (!member && !BROADCASTER_ROLES.contains(user.getRole())) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Not a recipient of " + channel + " broadcasts");
+        }
+        if (channel == null) return List.of();
+
+        int size = limit == null ? DEFAULT_HISTORY : Math.max(1, Math.min(limit, MAX_HISTORY));
+        List<Broadcast> newestFirst = broadcasts.findNewest(channel, PageRequest.of(0, size));
+        if (newestFirst.isEmpty()) return List.of();
+
+        long watermark = member ? watermarkOrSeed(user.getId(), channel, newestFirst.get(0).getId()) : Long.MAX_VALUE;
+        if (member) {
+            reads.advance(user.getId(), channel, newestFirst.get(0).getId(), LocalDateTime.now());
+        }
+
+        Map<Long, User> senders = sendersOf(newestFirst);
+        List<BroadcastResponse> out = new ArrayList<>();
+        for (Broadcast b : newestFirst) {
+            out.add(toResponse(b, senders.get(b.getSenderId()), b.getId() <= watermark));
+        }
+        Collections.reverse(out);
+        return out;
+    }
+
+    /**
+     * Chat-list rows for broadcasts: the user's own role's channel plus any
+     * channel they've sent to. One row per channel, latest broadcast only.
+     */
+    @Transactional
+    public List<ChatResponse> chatsFor(Long userId) {
+        User user = userRepository.findById(userId).orElse(null);
+        if (user == null) return List.of();
+
+        Set<String> channels = new LinkedHashSet<>();
+        if (user.getRole() != null) channels.add(user.getRole());
+        channels.addAll(broadcasts.findRolesSentBy(userId));
+
+        List<Broadcast> latest = new ArrayList<>();
+        for (String channel : channels) {
+            broadcasts.findFirstByAudienceRoleOrderByIdDesc(channel).ifPresent(latest::add);
+        }
+        if (latest.isEmpty()) return List.of();
+
+        Map<Long, User> senders = sendersOf(latest);
+        List<ChatResponse> out = new ArrayList<>();
+        for (Broadcast b : latest) {
+            boolean member = b.getAudienceRole().equals(user.getRole());
+            long watermark = member ? watermarkOrSeed(userId, b.getAudienceRole(), b.getId()) : Long.MAX_VALUE;
+            int unread = member
+                    ? (int) broadcasts.countByAudienceRoleAndIdGreaterThan(b.getAudienceRole(), watermark)
+                    : 0;
+            User sender = senders.get(b.getSenderId());
+            out.add(ChatResponse.builder()
+                    .id(b.getId())
+                    .content(b.getContent())
+                    .createdAt(b.getCreatedAt())
+                    .isRead(unread == 0)
+                    .senderId(b.getSenderId())
+                    .senderName(sender == null ? "User " + b.getSenderId() : sender.getFullName())
+                    .receiverName(channelLabel(b.getAudienceRole()))
+                    .broadcastRole(b.getAudienceRole())
+                    .unreadCount(unread)
+                    .build());
+        }
+        return out;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        if (event.change() != UserAccountChangedEvent.Change.REGISTERED || event.userId() == null) return;
+        userRepository.findById(event.userId())
+                .filter(u -> u.getRole() != null)
+                .ifPresent(u -> reads.advance(u.getId(), u.getRole(),
+                        broadcasts.findFirstByAudienceRoleOrderByIdDesc(u.getRole()).map(Broadcast::getId).orElse(0L),
+                        LocalDateTime.now()));
+    }
+
+    //no row yet: start the member at the channel's newest broadcast
+    private long watermarkOrSeed(Long userId, String role, long newestId) {
+        return reads.findWatermark(userId, role).orElseGet(() -> {
+            reads.advance(userId, role, newestId, LocalDateTime.now());
+            return newestId;
+        });
+    }
+
+    private Map<Long, User> sendersOf(List<Broadcast> list) {
+        Set<Long> ids = list.stream().map(Broadcast::getSenderId).collect(Collectors.toSet());
+        return userRepository.findAllById(ids).stream().collect(Collectors.toMap(User::getId, u -> u));
+    }
+
+    // "ROLE_CAREGIVER" → "All caregivers", "ROLE_KITCHEN_STAFF" → "All kitchen staff"
+    static String channelLabel(String role) {
+        String words = role.replaceFirst("^ROLE_", "").replace('_', ' ').toLowerCase(Locale.ROOT);
+        return "All " + (words.endsWith("staff") ? words : words + "s");
+    }
+
+    private static BroadcastResponse toResponse(Broadcast b, User sender, boolean read) {
+        return BroadcastResponse.builder()
+                .id(b.getId())
+                .senderId(b.getSenderId())
+                .senderName(sender == null ? "User " + b.getSenderId() : sender.getFullName())
+                .role(b.getAudienceRole())
+                .content(b.getContent())
+                .createdAt(b.getCreatedAt())
+                .isRead(read)
+                .build();
+    }
+}
@@ -0,0 +1,49 @@
+package com.traymate.backend.messaging;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Read watermark: the newest message from {@code otherUserId} that
+ * {@code userId} has seen. Every message in that direction with an id at
+ * or below it counts as read, so opening a thread is one upsert of this
+ * row instead of an UPDATE per message. Message ids are IDENTITY, so
+ * they grow in send order.
+ *
+ * message.is_read is no longer written; it only seeded these rows.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@IdClass(ConversationRead.Key.class)
+@Table(name = "conversation_read")
+public class ConversationRead {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "other_user_id")
+    private Long otherUserId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private Long otherUserId;
+    }
+}
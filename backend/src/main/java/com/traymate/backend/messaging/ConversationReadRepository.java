@@ -0,0 +1,41 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ConversationReadRepository extends JpaRepository<ConversationRead, ConversationRead.Key> {
+
+    @Query("""
+        SELECT r.lastReadMessageId FROM ConversationRead r
+        WHERE r.userId = :userId AND r.otherUserId = :otherUserId
+    """)
+    Optional<Long> findWatermark(Long userId, Long otherUserId);
+
+    //every watermark this user holds — one row per partner, for the inbox
+    List<ConversationRead> findByUserId(Long userId);
+
+    //move the watermark forward, never back (a stale client page can't
+    //un-read newer messages)
+    @Modifying
+    @Query(value = """
+        INSERT INTO conversation_read (user_id, other_user_id, last_read_message_id, updated_at)
+        VALUES (:userId, :otherUserId, :messageId, :now)
+        ON DUPLICATE KEY UPDATE
+            updated_at           = IF(VALUES(last_read_message_id) > last_read_message_id, VALUES(updated_at), updated_at),
+            last_read_message_id = GREATEST(last_read_message_id, VALUES(last_read_message_id))
+    """, nativeQuery = true)
+    void advance(Long userId, Long otherUserId, Long messageId, LocalDateTime now);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ConversationRead r
+        WHERE (r.userId = :userId AND r.otherUserId = :otherUserId)
+        OR (r.userId = :otherUserId AND r.otherUserId = :userId)
+    """)
+    int deletePair(Long userId, Long otherUserId);
+}
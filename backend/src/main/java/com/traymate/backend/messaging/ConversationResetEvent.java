@@ -0,0 +1,8 @@
+package com.traymate.backend.messaging;
+
+/**
+ * A pair's conversation_summary row was deleted or rebuilt from the
+ * message table (message or chat deleted), so any unread counts cached
+ * for either user are stale.
+ */
+public record ConversationResetEvent(Long userA, Long userB) {}
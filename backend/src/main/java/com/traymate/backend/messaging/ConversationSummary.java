@@ -0,0 +1,72 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * One row per pair of users who have exchanged messages, keyed by the
+ * unordered pair (user_low_id < user_high_id, or equal for notes to self).
+ * Holds what the chat list shows — last message preview/time and each
+ * side's unread count — so /messages/chats reads one row per conversation
+ * instead of every message the user ever sent or received.
+ *
+ * Written by ConversationSummaryService inside the same transaction as the
+ * message insert / read / delete it reflects.
+ */
+@Entity
+@Getter
+@Setter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Table(name = "conversation_summary")
+public class ConversationSummary {
+
+    /** Longest preview kept; the full text is on the message row. */
+    public static final int PREVIEW_LENGTH = 280;
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_low_id", nullable = false)
+    private Long userLowId;
+
+    @Column(name = "user_high_id", nullable = false)
+    private Long userHighId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    @Column(name = "last_sender_id", nullable = false)
+    private Long lastSenderId;
+
+    @Column(name = "last_preview", length = PREVIEW_LENGTH)
+    private String lastPreview;
+
+    @Column(name = "last_message_at")
+    private LocalDateTime lastMessageAt;
+
+    /** Messages to userLowId not yet read by them. */
+    @Column(name = "unread_low", nullable = false)
+    private int unreadLow;
+
+    /** Messages to userHighId not yet read by them. */
+    @Column(name = "unread_high", nullable = false)
+    private int unreadHigh;
+
+    public Long otherUser(Long userId) {
+        return userId.equals(userLowId) ? userHighId : userLowId;
+    }
+
+    public int unreadFor(Long userId) {
+        return userId.equals(userLowId) ? unreadLow : unreadHigh;
+    }
+
+    /** The user the last message was sent to. */
+    public Long lastReceiverId() {
+        return otherUser(lastSenderId);
+    }
+}
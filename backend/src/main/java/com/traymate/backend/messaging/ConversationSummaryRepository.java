@@ -0,0 +1,100 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+public interface ConversationSummaryRepository extends JpaRepository<ConversationSummary, Long> {
+
+    // Chat list for one user: one row per conversation, newest first.
+    // Each side of the OR has its own (user_x_id, last_message_at) index.
+    @Query("""
+        SELECT s FROM ConversationSummary s
+        WHERE s.userLowId = :userId OR s.userHighId = :userId
+        ORDER BY s.lastMessageAt DESC, s.lastMessageId DESC
+    """)
+    List<ConversationSummary> findForUser(Long userId);
+
+    // Single-statement upsert so two messages sent at once in the same
+    // conversation can't lose each other's unread increment. The "newer
+    // message wins" checks come before last_message_id is overwritten —
+    // MariaDB applies the assignments left to right.
+    @Modifying
+    @Query(value = """
+        INSERT INTO conversation_summary
+            (user_low_id, user_high_id, last_message_id, last_sender_id,
+             last_preview, last_message_at, unread_low, unread_high)
+        VALUES (:lowId, :highId, :messageId, :senderId, :preview, :sentAt, :unreadLow, :unreadHigh)
+        ON DUPLICATE KEY UPDATE
+            last_sender_id  = IF(VALUES(last_message_id) > last_message_id, VALUES(last_sender_id), last_sender_id),
+            last_preview    = IF(VALUES(last_message_id) > last_message_id, VALUES(last_preview), last_preview),
+            last_message_at = IF(VALUES(last_message_id) > last_message_id, VALUES(last_message_at), last_message_at),
+            last_message_id = GREATEST(last_message_id, VALUES(last_message_id)),
+            unread_low      = unread_low + VALUES(unread_low),
+            unread_high     = unread_high + VALUES(unread_high)
+    """, nativeQuery = true)
+    void recordMessage(Long lowId, Long highId, Long messageId, Long senderId,
+                       String preview, LocalDateTime sentAt, int unreadLow, int unreadHigh);
+
+    // Zero one side's unread count, but only if nothing newer than the
+    // reader's watermark has landed since — otherwise 0 rows change and the
+    // caller recounts.
+    @Modifying
+    @Query("""
+        UPDATE ConversationSummary s SET s.unreadLow = 0
+        WHERE s.userLowId = :lowId AND s.userHighId = :highId
+        AND s.lastMessageId <= :watermark
+    """)
+    int clearUnreadLow(Long lowId, Long highId, Long watermark);
+
+    @Modifying
+    @Query("""
+        UPDATE ConversationSummary s SET s.unreadHigh = 0
+        WHERE s.userLowId = :lowId AND s.userHighId = :highId
+        AND s.lastMessageId <= :watermark
+    """)
+    int clearUnreadHigh(Long lowId, Long highId, Long watermark);
+
+    // Recount one side's unread inside the UPDATE. The subquery of a DML
+    // statement is a locking read, so it sees a send that committed after
+    // this transaction's snapshot — a plain SELECT COUNT followed by a SET
+    // would write a stale count over that send's +1.
+    @Modifying
+    @Query(value = """
+        UPDATE conversation_summary
+           SET unread_low = (SELECT COUNT(*) FROM message m
+                              WHERE m.sender_id = :highId AND m.receiver_id = :lowId
+                                AND m.id > :watermark)
+         WHERE user_low_id = :lowId AND user_high_id = :highId
+    """, nativeQuery = true)
+    int recountUnreadLow(Long lowId, Long highId, Long watermark);
+
+    @Modifying
+    @Query(value = """
+        UPDATE conversation_summary
+           SET unread_high = (SELECT COUNT(*) FROM message m
+                               WHERE m.sender_id = :lowId AND m.receiver_id = :highId
+                                 AND m.id > :watermark)
+         WHERE user_low_id = :lowId AND user_high_id = :highId
+    """, nativeQuery = true)
+    int recountUnreadHigh(Long lowId, Long highId, Long watermark);
+
+    // the count just written by recountUnread* (own writes are visible)
+    @Query("""
+        SELECT CASE WHEN :low = true THEN s.unreadLow ELSE s.unreadHigh END
+        FROM ConversationSummary s
+        WHERE s.userLowId = :lowId AND s.userHighId = :highId
+    """)
+    Optional<Integer> findUnread(Long lowId, Long highId, boolean low);
+
+    @Modifying
+    @Query("""
+        DELETE FROM ConversationSummary s
+        WHERE s.userLowId = :lowId AND s.userHighId = :highId
+    """)
+    int deletePair(Long lowId, Long highId);
+}
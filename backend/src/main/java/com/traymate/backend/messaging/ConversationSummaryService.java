@@ -0,0 +1,131 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Keeps conversation_summary and the conversation_read watermarks in step
+ * with the message table. Every write joins the caller's transaction
+ * (MANDATORY), so neither can commit without the message change it
+ * describes, or vice versa.
+ */
+@Service
+@RequiredArgsConstructor
+public class ConversationSummaryService {
+
+    private final ConversationSummaryRepository summaries;
+    private final MessageRepository messages;
+    private final ConversationReadRepository reads;
+    private final ApplicationEventPublisher events;
+
+    @Transactional(readOnly = true)
+    public List<ConversationSummary> listFor(Long userId) {
+        return summaries.findForUser(userId);
+    }
+
+    /** A message was just inserted: bump last-message fields and the receiver's unread count. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordSent(Message m) {
+        long low = Math.min(m.getSenderId(), m.getReceiverId());
+        long high = Math.max(m.getSenderId(), m.getReceiverId());
+        boolean toLow = m.getReceiverId() == low;
+        summaries.recordMessage(low, high, m.getId(), m.getSenderId(), preview(m.getContent()),
+            m.getCreatedAt(), toLow ? 1 : 0, toLow ? 0 : 1);
+    }
+
+    /**
+     * {@code readerId} has seen {@code otherUserId}'s messages up to
+     * {@code upToMessageId}. One watermark upsert plus one summary UPDATE;
+     * a recount only happens if a message arrived after that id. Re-opening
+     * a thread with nothing new is a single PK read and no write.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void markRead(Long readerId, Long otherUserId, Long upToMessageId) {
+        if (upToMessageId == null || upToMessageId <= watermark(readerId, otherUserId)) return;
+        reads.advance(readerId, otherUserId, upToMessageId, LocalDateTime.now());
+        long watermark = watermark(readerId, otherUserId);
+
+        long low = Math.min(readerId, otherUserId);
+        long high = Math.max(readerId, otherUserId);
+        boolean readerIsLow = readerId == low;
+        int cleared = readerIsLow
+            ? summaries.clearUnreadLow(low, high, watermark)
+            : summaries.clearUnreadHigh(low, high, watermark);
+        int unread = 0;
+        if (cleared == 0) {
+            // something newer than the watermark landed: recount in the
+            // UPDATE itself so a concurrent send's increment can't be lost
+            if (readerIsLow) {
+                summaries.recountUnreadLow(low, high, watermark);
+            } else {
+                summaries.recountUnreadHigh(low, high, watermark);
+            }
+            unread = summaries.findUnread(low, high, readerIsLow).orElse(0);
+        }
+        events.publishEvent(new MessagesReadEvent(readerId, otherUserId, watermark, unread));
+    }
+
+    /** Newest message id from {@code otherUserId} that {@code userId} has read; 0 if none. */
+    @Transactional(readOnly = true)
+    public long watermark(Long userId, Long otherUserId) {
+        return reads.findWatermark(userId, otherUserId).orElse(0L);
+    }
+
+    /** All of one user's watermarks, keyed by the other user's id. */
+    @Transactional(readOnly = true)
+    public Map<Long, Long> watermarksFor(Long userId) {
+        Map<Long, Long> out = new HashMap<>();
+        for (ConversationRead r : reads.findByUserId(userId)) {
+            out.put(r.getOtherUserId(), r.getLastReadMessageId());
+        }
+        return out;
+    }
+
+    /** Whole conversation deleted. */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Long userA, Long userB) {
+        summaries.deletePair(Math.min(userA, userB), Math.max(userA, userB));
+        reads.deletePair(userA, userB);
+        events.publishEvent(new ConversationResetEvent(userA, userB));
+    }
+
+    /**
+     * Rebuild one pair's row from the message table — after deleting a
+     * single message, which may have been the last one or an unread one.
+     * Costs one conversation's worth of work, never the user's whole history.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void refresh(Long userA, Long userB) {
+        long low = Math.min(userA, userB);
+        long high = Math.max(userA, userB);
+        summaries.deletePair(low, high);
+        events.publishEvent(new ConversationResetEvent(low, high));
+        List<Message> latest = messages.findLatestInConversation(low, high, PageRequest.of(0, 1));
+        if (latest.isEmpty()) return;
+        Message last = latest.get(0);
+        summaries.recordMessage(low, high, last.getId(), last.getSenderId(), preview(last.getContent()),
+            last.getCreatedAt(), 0, 0);
+        // counts via the same in-UPDATE recount as markRead
+        summaries.recountUnreadLow(low, high, watermark(low, high));
+        if (low != high) {
+            summaries.recountUnreadHigh(low, high, watermark(high, low));
+        }
+    }
+
+    private static String preview(String content) {
+        if (content == null) return null;
+        return content.length() <= ConversationSummary.PREVIEW_LENGTH
+            ? content
+            : content.substring(0, ConversationSummary.PREVIEW_LENGTH - 1) + "…";
+    }
+}
@@ -0,0 +1,57 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * One retention chunk per transaction, called by MessageRetentionJob.
+ * Read watermarks are left alone: they refer to message ids, which the
+ * archive keeps. conversation_summary is rebuilt for every pair the chunk
+ * touched, in the same transaction — otherwise an archived unread message
+ * could never be marked read, and a purged one would stay the preview.
+ */
+@Service
+@RequiredArgsConstructor
+public class MessageArchiver {
+
+    private final MessageRepository messages;
+    private final ArchivedMessageRepository archive;
+    private final ConversationSummaryService summaryService;
+
+    @Transactional
+    public int archive(List<Long> ids) {
+        List<Object[]> pairs = messages.findPairsByIdIn(ids);
+        archive.copyFromMessages(ids, LocalDateTime.now());
+        int moved = messages.deleteByIdIn(ids);
+        refreshSummaries(pairs);
+        return moved;
+    }
+
+    @Transactional
+    public int purge(List<Long> ids) {
+        List<Object[]> pairs = messages.findPairsByIdIn(ids);
+        int deleted = messages.deleteByIdIn(ids);
+        refreshSummaries(pairs);
+        return deleted;
+    }
+
+    //refresh() recounts unread against what's still live, resets the
+    //preview and publishes ConversationResetEvent so UnreadCounter reloads
+    private void refreshSummaries(List<Object[]> pairs) {
+        Set<List<Long>> seen = new LinkedHashSet<>();
+        for (Object[] pair : pairs) {
+            long a = ((Number) pair[0]).longValue();
+            long b = ((Number) pair[1]).longValue();
+            if (seen.add(List.of(Math.min(a, b), Math.max(a, b)))) {
+                summaryService.refresh(a, b);
+            }
+        }
+    }
+}
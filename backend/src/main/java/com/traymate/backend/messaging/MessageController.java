@@ -5,13 +5,20 @@ import java.util.List;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.security.core.Authentication;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.server.ResponseStatusException;
 
 import com.traymate.backend.auth.repository.UserRepository;
 import com.traymate.backend.auth.model.User;
+import com.traymate.backend.messaging.dto.BroadcastRequest;
+import com.traymate.backend.messaging.dto.BroadcastResponse;
 import com.traymate.backend.messaging.dto.ChatResponse;
+import com.traymate.backend.messaging.dto.ConversationPage;
 import com.traymate.backend.messaging.dto.MessageResponse;
 import com.traymate.backend.messaging.dto.SendMessageRequest;
+import com.traymate.backend.messaging.dto.UnreadCounts;
 import com.traymate.backend.messaging.dto.UserList;
 
 import lombok.RequiredArgsConstructor;
@@ -24,12 +31,21 @@ public class MessageController {
     private final MessageService service;
     private final UserRepository userRepository;
     private final UserMessagingService userMessagingService;
+    private final MessageStreamRegistry streamRegistry;
+    private final UnreadCounter unreadCounter;
+    private final BroadcastService broadcastService;
 
     private User currentUser(Authentication authentication) {
         if (authentication == null || authentication.getName() == null) {
             throw new ResponseStatusException(HttpStatus.UNAUTHORIZED, "Authentication is required");
         }
 
+        //the JWT filter already resolved the user; only fall back to a lookup
+        //for other authentication types
+        if (authentication.getPrincipal() instanceof User user) {
+            return user;
+        }
+
         return userRepository.findByEmail(authentication.getName())
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.UNAUTHORIZED, "User session is no longer valid"));
     }
@@ -46,16 +62,52 @@ public class MessageController {
         return service.sendMessage(senderId, req);
     }
 
+    //one message to everyone with a role, e.g. {"role": "ROLE_CAREGIVER",
+    //"content": "Lunch is delayed 15 minutes"} — a single row, not one per user
+    @PostMapping("/broadcast")
+    @PreAuthorize("hasAnyAuthority('ROLE_ADMIN','ROLE_KITCHEN_STAFF','ROLE_KITCHEN')")
+    public BroadcastResponse broadcast(
+            @RequestBody BroadcastRequest req,
+            Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return broadcastService.send(user, req);
+    }
+
+    //broadcast history for a role (defaults to your own), oldest → newest;
+    //reading your own role's channel marks it read
+    @GetMapping("/broadcasts")
+    public List<BroadcastResponse> getBroadcasts(
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return broadcastService.history(user, role, limit);
+    }
+
     @GetMapping("/inbox")
-    public List<Message> getInbox(Authentication authentication) {
+    public List<MessageResponse> getInbox(Authentication authentication) {
 
         User user = currentUser(authentication);
 
         return service.getInbox(user.getId());
     }
 
+    //badge counts: total + per-conversation unread, from memory. Use this
+    //instead of fetching /inbox just to count unread messages.
+    @GetMapping("/unread-counts")
+    public UnreadCounts getUnreadCounts(Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return unreadCounter.countsFor(user.getId());
+    }
+
     @GetMapping("/conversation/{otherUserId}")
-    public List<Message> getConversation(
+    public List<MessageResponse> getConversation(
             @PathVariable  Long otherUserId,
             Authentication authentication) {
 
@@ -64,6 +116,49 @@ public class MessageController {
         return service.getConversation(user.getId(), otherUserId);
     }
 
+    //paged conversation: newest page first, then ?before=<nextBefore> for
+    //older pages as the user scrolls up. limit defaults to 50, max 200.
+    @GetMapping("/conversation/{otherUserId}/page")
+    public ConversationPage getConversationPage(
+            @PathVariable Long otherUserId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return service.getConversationPage(user.getId(), otherUserId, before, limit);
+    }
+
+    //older history moved out by the retention job, same paging shape as
+    ///page (newest archived page first, then ?before=<nextBefore>)
+    @GetMapping("/conversation/{otherUserId}/archive")
+    public ConversationPage getArchivedConversation(
+            @PathVariable Long otherUserId,
+            @RequestParam(required = false) Long before,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return service.getArchivedPage(user.getId(), otherUserId, before, limit);
+    }
+
+    //live feed (Server-Sent Events) of "message" and "read" events for this
+    //user, replacing inbox/chats polling. On reconnect the browser sends
+    //Last-Event-ID (or pass ?after=<last message id>) and anything missed
+    //is replayed first; "resync" means too much was missed, refetch /chats.
+    @GetMapping(path = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long after,
+            Authentication authentication) {
+
+        User user = currentUser(authentication);
+
+        return streamRegistry.open(user.getId(), lastEventId != null ? lastEventId : after);
+    }
+
     @GetMapping("/chats")
     public List<ChatResponse> getChats(Authentication authentication) {
 
@@ -72,13 +167,19 @@ public class MessageController {
         return service.getChats(user.getId());
     }
 
-    //get list of users to message to 
+    //get list of users to message to. Optional ?q= name prefix, ?role=
+    //(comma list) and ?offset=&limit= paging; no params = everyone
     @GetMapping("/users")
-    public List<UserList> getAllUsers(Authentication authentication) {
+    public List<UserList> getAllUsers(
+            @RequestParam(required = false) String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) Integer offset,
+            @RequestParam(required = false) Integer limit,
+            Authentication authentication) {
 
         User user = currentUser(authentication);
 
-        return userMessagingService.getAllUsers(user.getId());
+        return userMessagingService.searchUsers(user.getId(), q, role, offset, limit);
     }
 
     //delete a single message
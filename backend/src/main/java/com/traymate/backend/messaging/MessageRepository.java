@@ -1,5 +1,6 @@
 package com.traymate.backend.messaging;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
@@ -7,6 +8,8 @@ import org.springframework.data.jpa.repository.Query;
 
 import jakarta.transaction.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -23,6 +26,25 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     """)
     List<Message> getConversation(Long userId, Long otherUserId);
 
+    //keyset pages of one direction of a conversation, newest first. The
+    //service runs these once per direction and merges, so each page is two
+    //short backwards scans of idx_message_pair_created however long the
+    //thread is. (created_at, id) is the cursor; id breaks same-instant ties.
+    @Query("""
+        SELECT m FROM Message m
+        WHERE m.senderId = :senderId AND m.receiverId = :receiverId
+        ORDER BY m.createdAt DESC, m.id DESC
+    """)
+    List<Message> findNewestSent(Long senderId, Long receiverId, Pageable page);
+
+    @Query("""
+        SELECT m FROM Message m
+        WHERE m.senderId = :senderId AND m.receiverId = :receiverId
+        AND (m.createdAt < :beforeAt OR (m.createdAt = :beforeAt AND m.id < :beforeId))
+        ORDER BY m.createdAt DESC, m.id DESC
+    """)
+    List<Message> findSentBefore(Long senderId, Long receiverId, LocalDateTime beforeAt, Long beforeId, Pageable page);
+
     //all messages this user is involved in (sent OR received) — used to
     //build the chat-list sidebar. Previously getChats reused getConversation
     //with userId on both sides, which only matched self-messages and left
@@ -34,6 +56,58 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     """)
     List<Message> findAllInvolvingUser(Long userId);
     
+    //everything this user sent or received after a message id, oldest
+    //first — replay for a reconnecting /messages/stream. Primary key range
+    //scan; pass a PageRequest to cap it.
+    @Query("""
+        SELECT m FROM Message m
+        WHERE (m.senderId = :userId OR m.receiverId = :userId)
+        AND m.id > :afterId
+        ORDER BY m.id ASC
+    """)
+    List<Message> findInvolvingUserAfter(Long userId, Long afterId, Pageable page);
+
+    //newest message in a conversation (pass PageRequest.of(0, 1)) — used to
+    //rebuild a conversation_summary row after a single message is deleted
+    @Query("""
+        SELECT m FROM Message m
+        WHERE (m.senderId = :userId AND m.receiverId = :otherUserId)
+        OR (m.senderId = :otherUserId AND m.receiverId = :userId)
+        ORDER BY m.id DESC
+    """)
+    List<Message> findLatestInConversation(Long userId, Long otherUserId, Pageable page);
+
+    //retention scan bounds: the newest id created before the cutoff (ids
+    //grow with time, so everything eligible is at or below it) ...
+    @Query("""
+        SELECT MAX(m.id) FROM Message m
+        WHERE m.createdAt < :cutoff
+    """)
+    Long findMaxIdCreatedBefore(LocalDateTime cutoff);
+
+    //... then primary-key range chunks up to it
+    @Query("""
+        SELECT m FROM Message m
+        WHERE m.id > :afterId AND m.id <= :maxId
+        ORDER BY m.id ASC
+    """)
+    List<Message> findIdRange(Long afterId, Long maxId, Pageable page);
+
+    //conversations a retention chunk touches, as {senderId, receiverId}
+    @Query("""
+        SELECT DISTINCT m.senderId, m.receiverId
+        FROM Message m
+        WHERE m.id IN :ids
+    """)
+    List<Object[]> findPairsByIdIn(Collection<Long> ids);
+
+    @Modifying
+    @Query("""
+        DELETE FROM Message m
+        WHERE m.id IN :ids
+    """)
+    int deleteByIdIn(Collection<Long> ids);
+
     //delete one specific message
     void deleteById(Long id);
 
@@ -0,0 +1,237 @@
+package com.traymate.backend.messaging;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import com.traymate.backend.auth.model.User;
+import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.tabletmode.AppSetting;
+import com.traymate.backend.tabletmode.AppSettingRepository;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Nightly retention for the message table, so getConversation,
+ * findAllInvolvingUser and deleteConversation don't slow down with
+ * history.
+ *
+ * Policy (application.properties):
+ *   traymate.messages.retention.default-days  days a message stays live; 0 = forever
+ *   traymate.messages.retention.role-days     per-role overrides, "ROLE_ADMIN:730,ROLE_KITCHEN_STAFF:90"
+ *   traymate.messages.retention.mode          archive (move to message_archive) or purge
+ *
+ * A message is kept for the longer retention of its two participants —
+ * a short-retention role never removes history from someone who's
+ * supposed to keep it.
+ *
+ * The job runs on its own thread (the cron only hands it off), one pass
+ * per retention length, each resuming from a mark saved in app_settings
+ * and walking the primary key CHUNK rows at a time; each chunk is moved in
+ * its own short transaction (MessageArchiver), with a pause in between,
+ * so the job never holds long locks against live chat. A user whose role
+ * changes keeps the retention their messages were passed over with until
+ * the policy itself changes.
+ * Archived conversations stay readable via
+ * GET /messages/conversation/{id}/archive.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageRetentionJob {
+
+    static final int CHUNK = 500;
+    static final long PAUSE_MS = 200;
+    static final String MARK_KEY_PREFIX = "messages.retention.mark.";
+
+    private final MessageRepository messageRepository;
+    private final MessageArchiver archiver;
+    private final UserRepository userRepository;
+    private final AppSettingRepository appSettingRepository;
+
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "message-retention");
+        t.setDaemon(true);
+        return t;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    @Value("${traymate.messages.retention.default-days:365}")
+    private int defaultDays;
+
+    @Value("${traymate.messages.retention.role-days:}")
+    private String roleDaysSpec;
+
+    @Value("${traymate.messages.retention.mode:archive}")
+    private String mode;
+
+    private Map<String, Integer> roleDays = Map.of();
+
+    @PostConstruct
+    void parsePolicy() {
+        Map<String, Integer> parsed = new HashMap<>();
+        for (String entry : roleDaysSpec.split(",")) {
+            if (entry.isBlank()) continue;
+            String[] parts = entry.split(":");
+            if (parts.length != 2) {
+                throw new IllegalStateException("Bad traymate.messages.retention.role-days entry '" + entry + "'");
+            }
+            parsed.put(parts[0].trim(), Integer.parseInt(parts[1].trim()));
+        }
+        roleDays = Map.copyOf(parsed);
+        mode = mode.trim().toLowerCase(Locale.ROOT);
+        if (!mode.equals("archive") && !mode.equals("purge")) {
+            throw new IllegalStateException("traymate.messages.retention.mode must be archive or purge");
+        }
+    }
+
+    @Scheduled(cron = "${traymate.messages.retention.cron:0 0 4 * * *}")
+    public void schedule() {
+        // hand off: the scheduler's threads also drive the outbox relay and
+        // SSE heartbeats, which can't wait out a long chunked scan
+        if (running.compareAndSet(false, true)) {
+            worker.execute(() -> {
+                try {
+                    run();
+                } catch (RuntimeException e) {
+                    log.warn("[MessageRetentionJob] run failed: {}", e.getMessage());
+                } finally {
+                    running.set(false);
+                }
+            });
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        worker.shutdownNow();
+    }
+
+    /**
+     * One pass per distinct retention length D in the policy. Pass D only
+     * expires messages whose effective retention is exactly D, and only
+     * looks at ids above its saved mark, so every message is read once per
+     * pass over its lifetime instead of every night. Marks carry a hash of
+     * the policy; changing the policy rescans from the start once.
+     */
+    void run() {
+        Set<Integer> lengths = Stream.concat(Stream.of(defaultDays), roleDays.values().stream())
+                .filter(d -> d > 0)
+                .collect(Collectors.toCollection(TreeSet::new));
+        if (lengths.isEmpty()) return;
+
+        LocalDateTime now = LocalDateTime.now();
+        Map<Long, String> roles = new HashMap<>();
+        int moved = 0;
+        for (int days : lengths) {
+            moved += runPass(days, now, roles);
+        }
+        if (moved > 0) {
+            log.info("[MessageRetentionJob] {} {} messages", mode.equals("purge") ? "purged" : "archived", moved);
+        }
+    }
+
+    private int runPass(int days, LocalDateTime now, Map<Long, String> roles) {
+        LocalDateTime cutoff = now.minusDays(days);
+        Long lastEligibleId = messageRepository.findMaxIdCreatedBefore(cutoff);
+        long afterId = loadMark(days);
+        if (lastEligibleId == null || lastEligibleId <= afterId) return 0;
+
+        // ids and created_at grow together, but not to the millisecond; if
+        // a row in range is still too new, stop the mark just below it
+        Long firstTooNew = null;
+        int moved = 0;
+        while (true) {
+            List<Message> chunk = messageRepository.findIdRange(afterId, lastEligibleId, PageRequest.of(0, CHUNK));
+            if (chunk.isEmpty()) break;
+            afterId = chunk.get(chunk.size() - 1).getId();
+
+            loadRoles(chunk, roles);
+            List<Long> expired = new ArrayList<>();
+            for (Message m : chunk) {
+                if (effectiveDays(m, roles) != days) continue;
+                if (m.getCreatedAt() != null && m.getCreatedAt().isBefore(cutoff)) {
+                    expired.add(m.getId());
+                } else if (m.getCreatedAt() != null && firstTooNew == null) {
+                    firstTooNew = m.getId();
+                }
+            }
+            if (!expired.isEmpty()) {
+                moved += "purge".equals(mode) ? archiver.purge(expired) : archiver.archive(expired);
+            }
+            if (chunk.size() < CHUNK) break;
+            pause();
+        }
+        saveMark(days, firstTooNew != null ? firstTooNew - 1 : lastEligibleId);
+        return moved;
+    }
+
+    /** Days this message is kept: the longer of its participants'; 0 = forever. */
+    private int effectiveDays(Message m, Map<Long, String> roles) {
+        int senderDays = daysFor(roles.get(m.getSenderId()));
+        int receiverDays = daysFor(roles.get(m.getReceiverId()));
+        // 0 on either side means that participant keeps everything
+        if (senderDays == 0 || receiverDays == 0) return 0;
+        return Math.max(senderDays, receiverDays);
+    }
+
+    private long loadMark(int days) {
+        return appSettingRepository.findById(MARK_KEY_PREFIX + days)
+                .map(AppSetting::getValue)
+                .filter(v -> v.startsWith(policyHash() + ":"))
+                .map(v -> Long.parseLong(v.substring(v.indexOf(':') + 1)))
+                .orElse(0L);
+    }
+
+    private void saveMark(int days, long id) {
+        appSettingRepository.save(new AppSetting(MARK_KEY_PREFIX + days, policyHash() + ":" + id, OffsetDateTime.now()));
+    }
+
+    private String policyHash() {
+        return Integer.toHexString(Objects.hash(defaultDays, new TreeMap<>(roleDays)));
+    }
+
+    private int daysFor(String role) {
+        return role == null ? defaultDays : roleDays.getOrDefault(role, defaultDays);
+    }
+
+    private void loadRoles(List<Message> chunk, Map<Long, String> roles) {
+        Set<Long> missing = chunk.stream()
+                .flatMap(m -> Stream.of(m.getSenderId(), m.getReceiverId()))
+                .filter(id -> id != null && !roles.containsKey(id))
+                .collect(Collectors.toSet());
+        if (missing.isEmpty()) return;
+        for (User u : userRepository.findAllById(missing)) {
+            roles.put(u.getId(), u.getRole());
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(PAUSE_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package com.traymate.backend.messaging;
+
+import com.traymate.backend.messaging.dto.MessageResponse;
+
+/**
+ * Published by MessageService.sendMessage inside its transaction;
+ * MessageStreamRegistry pushes it to both users' live streams once the
+ * transaction commits.
+ */
+public record MessageSentEvent(MessageResponse message) {}
@@ -1,7 +1,10 @@
 package com.traymate.backend.messaging;
 
 import java.time.LocalDateTime;
-import java.util.LinkedHashMap;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -12,12 +15,17 @@ import java.util.stream.Stream;
 import com.traymate.backend.auth.model.User;
 import com.traymate.backend.auth.repository.UserRepository;
 import com.traymate.backend.messaging.dto.ChatResponse;
+import com.traymate.backend.messaging.dto.ConversationPage;
 import com.traymate.backend.messaging.dto.MessageResponse;
 import com.traymate.backend.messaging.dto.SendMessageRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 @Service
@@ -25,9 +33,22 @@ import org.springframework.web.server.ResponseStatusException;
 @Slf4j
 public class MessageService {
 
+    static final int DEFAULT_PAGE_SIZE = 50;
+    static final int MAX_PAGE_SIZE = 200;
+
+    private static final Comparator<Message> NEWEST_FIRST = Comparator
+            .comparing(Message::getCreatedAt, Comparator.nullsFirst(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(Message::getId)
+            .reversed();
+
     private final MessageRepository repository;
     private final UserRepository userRepository;
+    private final ConversationSummaryService summaryService;
+    private final ApplicationEventPublisher events;
+    private final BroadcastService broadcastService;
+    private final ArchivedMessageRepository archiveRepository;
 
+    @Transactional
     public MessageResponse sendMessage(Long senderId, SendMessageRequest req) {
         if (req == null || req.getReceiverId() == null) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "receiverId is required");
@@ -48,113 +69,259 @@ public class MessageService {
                 .build();
 
         Message saved = repository.save(message);
+        summaryService.recordSent(saved);
 
-        return MessageResponse.builder()
-                .id(saved.getId())
-                .senderId(saved.getSenderId())
-                .receiverId(saved.getReceiverId())
-                .content(saved.getContent())
-                .createdAt(saved.getCreatedAt())
-                .isRead(saved.getIsRead())
-                .build();
+        MessageResponse response = toResponse(saved, false);
+        // pushed to both users' /messages/stream after commit
+        events.publishEvent(new MessageSentEvent(response));
+        return response;
+    }
+
+    /**
+     * Messages this user sent or received with id above {@code afterId},
+     * oldest first, at most {@code max + 1} (so the caller can tell it was
+     * cut off). Replays what a reconnecting stream missed.
+     */
+    @Transactional(readOnly = true)
+    public List<MessageResponse> missedSince(Long userId, Long afterId, int max) {
+        List<Message> missed = repository.findInvolvingUserAfter(userId, afterId, PageRequest.of(0, max + 1));
+        if (missed.isEmpty()) return List.of();
+        Map<Long, Long> mine = summaryService.watermarksFor(userId);
+        Map<Long, Long> theirs = new HashMap<>();
+        return missed.stream()
+                .map(m -> {
+                    boolean received = Objects.equals(m.getReceiverId(), userId);
+                    long watermark = received
+                            ? mine.getOrDefault(m.getSenderId(), 0L)
+                            : theirs.computeIfAbsent(m.getReceiverId(), r -> summaryService.watermark(r, userId));
+                    return toResponse(m, m.getId() <= watermark);
+                })
+                .toList();
     }
 
-    public List<Message> getInbox(Long receiverId) {
-        return repository.findByReceiverId(receiverId);
+    // Read state comes from conversation_read watermarks, not the legacy
+    // message.is_read column: a message is read once its receiver's
+    // watermark for that sender has reached its id.
+
+    @Transactional(readOnly = true)
+    public List<MessageResponse> getInbox(Long receiverId) {
+        Map<Long, Long> watermarks = summaryService.watermarksFor(receiverId);
+        return repository.findByReceiverId(receiverId).stream()
+                .map(m -> toResponse(m, m.getId() <= watermarks.getOrDefault(m.getSenderId(), 0L)))
+                .toList();
     }
 
     // full conversation + mark as read
-    public List<Message> getConversation(Long userId, Long otherUserId) {
+    @Transactional
+    public List<MessageResponse> getConversation(Long userId, Long otherUserId) {
         if (otherUserId == null || !userRepository.existsById(otherUserId)) {
             return List.of();
         }
 
         List<Message> messages = repository.getConversation(userId, otherUserId);
 
-        // auto mark as read
-        messages.stream()
-                .filter(m -> Objects.equals(m.getReceiverId(), userId) && !Boolean.TRUE.equals(m.getIsRead()))
-                .forEach(m -> m.setIsRead(true));
+        // auto mark as read: one watermark upsert, however long the thread
+        summaryService.markRead(userId, otherUserId, newestFrom(messages, otherUserId, userId));
 
-        repository.saveAll(messages);
+        return withReadState(messages, userId, otherUserId);
+    }
+
+    /**
+     * One page of a conversation, keyset-paginated on (createdAt, id).
+     * Without {@code before} it's the newest page, and opening it marks the
+     * thread read; with {@code before} (a message id from the previous
+     * page's nextBefore) it's the page just older than that message. Cost
+     * is the page size, not the thread length.
+     */
+    @Transactional
+    public ConversationPage getConversationPage(Long userId, Long otherUserId, Long before, Integer limit) {
+        if (otherUserId == null || !userRepository.existsById(otherUserId)) {
+            return ConversationPage.builder().messages(List.of()).hasMore(false).build();
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        // one extra row tells us whether an older page exists
+        Pageable page = PageRequest.of(0, size + 1);
 
-        return messages;
+        List<Message> rows = new ArrayList<>();
+        if (before == null) {
+            rows.addAll(repository.findNewestSent(userId, otherUserId, page));
+            if (!userId.equals(otherUserId)) {
+                rows.addAll(repository.findNewestSent(otherUserId, userId, page));
+            }
+        } else {
+            Message cursor = repository.findById(before)
+                    .filter(m -> isBetween(m, userId, otherUserId))
+                    .orElseThrow(() -> new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                            "before must be a message id from this conversation"));
+            rows.addAll(repository.findSentBefore(userId, otherUserId, cursor.getCreatedAt(), cursor.getId(), page));
+            if (!userId.equals(otherUserId)) {
+                rows.addAll(repository.findSentBefore(otherUserId, userId, cursor.getCreatedAt(), cursor.getId(), page));
+            }
+        }
+
+        rows.sort(NEWEST_FIRST);
+        boolean hasMore = rows.size() > size;
+        List<Message> newestFirst = hasMore ? rows.subList(0, size) : rows;
+
+        if (before == null) {
+            // rows holds the newest size+1 from each direction, so it has
+            // the partner's newest message even if it's older than the page
+            summaryService.markRead(userId, otherUserId, newestFrom(rows, otherUserId, userId));
+        }
+
+        List<MessageResponse> messages = new ArrayList<>(withReadState(newestFirst, userId, otherUserId));
+        Collections.reverse(messages);
+
+        return ConversationPage.builder()
+                .messages(messages)
+                .nextBefore(hasMore ? newestFirst.get(newestFirst.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
     }
 
-    // new chat function
+    /**
+     * One page of the part of a conversation MessageRetentionJob moved to
+     * message_archive, newest first by id; {@code before} is the previous
+     * page's nextBefore. Read-only — archived messages don't move the
+     * read watermark.
+     */
+    @Transactional(readOnly = true)
+    public ConversationPage getArchivedPage(Long userId, Long otherUserId, Long before, Integer limit) {
+        if (otherUserId == null) {
+            return ConversationPage.builder().messages(List.of()).hasMore(false).build();
+        }
+        int size = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<Message> rows = archiveRepository
+                .findConversationBefore(userId, otherUserId, before == null ? Long.MAX_VALUE : before,
+                        PageRequest.of(0, size + 1))
+                .stream()
+                .map(a -> Message.builder()
+                        .id(a.getId())
+                        .senderId(a.getSenderId())
+                        .receiverId(a.getReceiverId())
+                        .content(a.getContent())
+                        .createdAt(a.getCreatedAt())
+                        .build())
+                .toList();
+
+        boolean hasMore = rows.size() > size;
+        List<Message> newestFirst = hasMore ? rows.subList(0, size) : rows;
+        List<MessageResponse> messages = new ArrayList<>(withReadState(newestFirst, userId, otherUserId));
+        Collections.reverse(messages);
+
+        return ConversationPage.builder()
+                .messages(messages)
+                .nextBefore(hasMore ? newestFirst.get(newestFirst.size() - 1).getId() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
+    // new chat function: 1:1 conversations plus role broadcast channels,
+    // newest activity first
     public List<ChatResponse> getChats(Long userId) {
         try {
-            return buildChats(userId);
+            List<ChatResponse> chats = new ArrayList<>(buildChats(userId));
+            chats.addAll(broadcastService.chatsFor(userId));
+            chats.sort(Comparator.comparing(ChatResponse::getCreatedAt,
+                    Comparator.nullsLast(Comparator.<LocalDateTime>reverseOrder())));
+            return chats;
         } catch (RuntimeException e) {
             log.warn("Failed to load message chat previews for user {}", userId, e);
             return List.of();
         }
     }
 
+    // One row per conversation from conversation_summary (kept current by
+    // sendMessage / getConversation / deletes) plus one batched user
+    // lookup for names — independent of how many messages were ever sent.
     private List<ChatResponse> buildChats(Long userId) {
 
-        // Was: repository.getConversation(userId, userId), which only returned
-        // self-messages and left the sidebar empty for real conversations.
-        List<Message> allMessages = repository.findAllInvolvingUser(userId);
+        List<ConversationSummary> chats = summaryService.listFor(userId);
 
-        Set<Long> userIds = allMessages.stream()
-                .flatMap(msg -> Stream.of(msg.getSenderId(), msg.getReceiverId()))
-                .filter(Objects::nonNull)
+        Set<Long> userIds = chats.stream()
+                .flatMap(c -> Stream.of(c.getUserLowId(), c.getUserHighId()))
                 .collect(Collectors.toSet());
 
         Map<Long, User> usersById = userRepository.findAllById(userIds)
                 .stream()
                 .collect(Collectors.toMap(User::getId, user -> user));
 
-        Map<Long, Message> latestChats = new LinkedHashMap<>();
-
-        for (Message msg : allMessages) {
-            if (msg.getSenderId() == null || msg.getReceiverId() == null) {
-                continue;
-            }
-
-            Long otherUserId = msg.getSenderId().equals(userId)
-                    ? msg.getReceiverId()
-                    : msg.getSenderId();
-
-            if (otherUserId == null || !usersById.containsKey(otherUserId)) {
-                continue;
-            }
-
-            // findAllInvolvingUser is sorted DESC, so the first entry per
-            // partner is the newest.
-            if (!latestChats.containsKey(otherUserId)) {
-                latestChats.put(otherUserId, msg);
-            }
-        }
-
-        return latestChats.values().stream()
-                .map(msg -> {
-                    User sender = usersById.get(msg.getSenderId());
-                    User receiver = usersById.get(msg.getReceiverId());
+        return chats.stream()
+                .filter(c -> usersById.containsKey(c.otherUser(userId)))
+                .map(c -> {
+                    Long senderId = c.getLastSenderId();
+                    Long receiverId = c.lastReceiverId();
 
                     return ChatResponse.builder()
-                            .id(msg.getId())
-                            .content(msg.getContent())
-                            .createdAt(msg.getCreatedAt())
-                            .isRead(msg.getIsRead())
-                            .senderId(msg.getSenderId())
-                            .receiverId(msg.getReceiverId())
-                            .senderName(displayName(sender, msg.getSenderId()))
-                            .receiverName(displayName(receiver, msg.getReceiverId()))
+                            .id(c.getLastMessageId())
+                            .content(c.getLastPreview())
+                            .createdAt(c.getLastMessageAt())
+                            // the last message is read once its receiver has nothing unread here
+                            .isRead(c.unreadFor(receiverId) == 0)
+                            .senderId(senderId)
+                            .receiverId(receiverId)
+                            .senderName(displayName(usersById.get(senderId), senderId))
+                            .receiverName(displayName(usersById.get(receiverId), receiverId))
+                            .unreadCount(c.unreadFor(userId))
                             .build();
                 })
                 .toList();
     }
 
     // delete a single message
+    @Transactional
     public void deleteMessage(Long messageId) {
+        Message message = repository.findById(messageId).orElse(null);
+        if (message == null) {
+            // may already have been moved to the archive
+            archiveRepository.findById(messageId).ifPresent(archiveRepository::delete);
+            return;
+        }
         repository.deleteById(messageId);
+        if (message.getSenderId() != null && message.getReceiverId() != null) {
+            summaryService.refresh(message.getSenderId(), message.getReceiverId());
+        }
     }
 
     // delete chat (full conversation)
+    @Transactional
     public void deleteChat(Long userId, Long otherUserId) {
         repository.deleteConversation(userId, otherUserId);
+        archiveRepository.deleteConversation(userId, otherUserId);
+        summaryService.remove(userId, otherUserId);
+    }
+
+    private static boolean isBetween(Message m, Long userId, Long otherUserId) {
+        return (Objects.equals(m.getSenderId(), userId) && Objects.equals(m.getReceiverId(), otherUserId))
+                || (Objects.equals(m.getSenderId(), otherUserId) && Objects.equals(m.getReceiverId(), userId));
+    }
+
+    private static Long newestFrom(List<Message> messages, Long senderId, Long receiverId) {
+        return messages.stream()
+                .filter(m -> Objects.equals(m.getSenderId(), senderId) && Objects.equals(m.getReceiverId(), receiverId))
+                .map(Message::getId)
+                .max(Long::compare)
+                .orElse(null);
+    }
+
+    // isRead per message from both sides' watermarks (two PK lookups)
+    private List<MessageResponse> withReadState(List<Message> messages, Long userId, Long otherUserId) {
+        long mine = summaryService.watermark(userId, otherUserId);
+        long theirs = summaryService.watermark(otherUserId, userId);
+        return messages.stream()
+                .map(m -> toResponse(m, m.getId() <= (Objects.equals(m.getReceiverId(), userId) ? mine : theirs)))
+                .toList();
+    }
+
+    private static MessageResponse toResponse(Message m, boolean read) {
+        return MessageResponse.builder()
+                .id(m.getId())
+                .senderId(m.getSenderId())
+                .receiverId(m.getReceiverId())
+                .content(m.getContent())
+                .createdAt(m.getCreatedAt())
+                .isRead(read)
+                .build();
     }
 
     private String displayName(User user, Long fallbackId) {
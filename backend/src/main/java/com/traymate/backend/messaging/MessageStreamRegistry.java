@@ -0,0 +1,189 @@
+package com.traymate.backend.messaging;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import com.traymate.backend.messaging.dto.MessageResponse;
+
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * In-process fan-out of messaging events to open GET /messages/stream
+ * connections (Server-Sent Events), so the app can drop its
+ * inbox/chats/conversation polling loop.
+ *
+ * Each user can have a few live streams (phone + tablet + a reconnect
+ * racing the old socket). Events go out after the sending transaction
+ * commits, to every stream of both participants. The writes happen on
+ * one fan-out thread, not the sender's request thread, so a slow socket
+ * never holds up POST /messages; one thread also keeps events in commit
+ * order.
+ *
+ * "message" events carry the message id as the SSE id, so a reconnecting
+ * client's Last-Event-ID (or ?after=) replays what it missed from the
+ * message table. The stream is registered before the replay query runs,
+ * so a message sent in between can arrive twice — clients dedupe by id.
+ * "read" events have no id; they're state, not history.
+ *
+ * Registry state lives in this JVM only. That's fine for the single Render
+ * instance; a second instance would need a shared bus in front of this.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class MessageStreamRegistry {
+
+    /** Streams are closed after this long; EventSource clients reconnect on their own. */
+    static final long STREAM_TIMEOUT_MS = 30 * 60 * 1000L;
+    static final int MAX_STREAMS_PER_USER = 5;
+    static final int MAX_REPLAY = 500;
+
+    private final MessageService messageService;
+
+    private final Map<Long, Set<SseEmitter>> streams = new ConcurrentHashMap<>();
+
+    private final ExecutorService fanOut = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "message-stream");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public SseEmitter open(Long userId, Long resumeAfter) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        List<SseEmitter> evicted = new ArrayList<>();
+        // Add inside compute(): a concurrent unregister can't drop the set
+        // between fetching it and adding to it, orphaning the new stream.
+        streams.compute(userId, (id, set) -> {
+            Set<SseEmitter> mine = set != null ? set : new CopyOnWriteArraySet<>();
+            // Oldest connection is most likely a dead socket the client already gave up on.
+            while (mine.size() >= MAX_STREAMS_PER_USER) {
+                SseEmitter oldest = mine.iterator().next();
+                mine.remove(oldest);
+                evicted.add(oldest);
+            }
+            mine.add(emitter);
+            return mine;
+        });
+        // outside compute(): completion callbacks re-enter the map
+        evicted.forEach(SseEmitter::complete);
+
+        Runnable remove = () -> unregister(userId, emitter);
+        emitter.onCompletion(remove);
+        emitter.onTimeout(remove);
+        emitter.onError(e -> remove.run());
+
+        replay(userId, emitter, resumeAfter);
+        return emitter;
+    }
+
+    public int openStreams() {
+        return streams.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        MessageResponse m = event.message();
+        fanOut.execute(() -> {
+            sendTo(m.getSenderId(), () -> messageEvent(m));
+            if (!m.getReceiverId().equals(m.getSenderId())) {
+                sendTo(m.getReceiverId(), () -> messageEvent(m));
+            }
+        });
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessagesRead(MessagesReadEvent event) {
+        fanOut.execute(() -> {
+            sendTo(event.readerId(), () -> readEvent(event));
+            if (!event.readerId().equals(event.otherUserId())) {
+                sendTo(event.otherUserId(), () -> readEvent(event));
+            }
+        });
+    }
+
+    @PreDestroy
+    void shutdown() {
+        fanOut.shutdownNow();
+    }
+
+    // Render's proxy drops idle connections after about a minute; a comment
+    // line every 25s keeps them open and flushes out dead sockets.
+    @Scheduled(fixedRate = 25_000)
+    public void heartbeat() {
+        streams.forEach((userId, set) -> {
+            for (SseEmitter emitter : set) {
+                try {
+                    emitter.send(SseEmitter.event().comment("keepalive"));
+                } catch (IOException | IllegalStateException e) {
+                    unregister(userId, emitter);
+                }
+            }
+        });
+    }
+
+    private void replay(Long userId, SseEmitter emitter, Long resumeAfter) {
+        if (resumeAfter == null) return;
+        List<MessageResponse> missed = messageService.missedSince(userId, resumeAfter, MAX_REPLAY);
+        try {
+            if (missed.size() > MAX_REPLAY) {
+                // Too far behind to stream; tell the client to refetch /messages/chats.
+                emitter.send(SseEmitter.event().name("resync").data("{}"));
+                return;
+            }
+            for (MessageResponse m : missed) {
+                emitter.send(messageEvent(m));
+            }
+        } catch (IOException | IllegalStateException e) {
+            unregister(userId, emitter);
+        }
+    }
+
+    // build() appends to the builder's own buffer, so every emitter gets a
+    // fresh one
+    private void sendTo(Long userId, Supplier<SseEmitter.SseEventBuilder> event) {
+        Set<SseEmitter> set = streams.get(userId);
+        if (set == null) return;
+        for (SseEmitter emitter : set) {
+            try {
+                emitter.send(event.get());
+            } catch (IOException | IllegalStateException e) {
+                log.debug("[MessageStreamRegistry] dropping stream for user {}: {}", userId, e.getMessage());
+                unregister(userId, emitter);
+            }
+        }
+    }
+
+    private void unregister(Long userId, SseEmitter emitter) {
+        streams.computeIfPresent(userId, (id, set) -> {
+            set.remove(emitter);
+            return set.isEmpty() ? null : set;
+        });
+    }
+
+    private static SseEmitter.SseEventBuilder messageEvent(MessageResponse m) {
+        return SseEmitter.event().id(String.valueOf(m.getId())).name("message").data(m);
+    }
+
+    private static SseEmitter.SseEventBuilder readEvent(MessagesReadEvent e) {
+        return SseEmitter.event().name("read").data(Map.of(
+            "readerId", e.readerId(),
+            "otherUserId", e.otherUserId(),
+            "lastReadMessageId", e.lastReadMessageId(),
+            "unread", e.unread()));
+    }
+}
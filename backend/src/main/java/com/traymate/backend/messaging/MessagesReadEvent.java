@@ -0,0 +1,11 @@
+package com.traymate.backend.messaging;
+
+/**
+ * {@code readerId}'s read watermark for messages from {@code otherUserId}
+ * moved up to {@code lastReadMessageId}, leaving {@code unread} messages
+ * from that user still unread (non-zero only if one arrived mid-read).
+ * Streamed to both users after commit — the sender gets a read receipt,
+ * the reader's other devices clear their badge — and applied to
+ * UnreadCounter.
+ */
+public record MessagesReadEvent(Long readerId, Long otherUserId, Long lastReadMessageId, int unread) {}
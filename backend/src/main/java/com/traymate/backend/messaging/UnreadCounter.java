@@ -0,0 +1,99 @@
+package com.traymate.backend.messaging;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.traymate.backend.messaging.dto.UnreadCounts;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory unread counts per user, for GET /messages/unread-counts.
+ *
+ * A user's counts are loaded from conversation_summary (one indexed query)
+ * the first time they're asked for, then kept current from the same
+ * after-commit events the live stream uses: a send bumps the receiver's
+ * count, a read sets the reader's count to what markRead left, and a
+ * deleted message/chat drops both users so they reload. Badge polling is
+ * then a map lookup.
+ *
+ * A send that commits while a user's counts are being loaded can be
+ * counted twice, so entries are also reloaded after LOAD_TTL_MS — the
+ * database stays the source of truth and any drift heals itself.
+ */
+@Component
+@RequiredArgsConstructor
+public class UnreadCounter {
+
+    static final long LOAD_TTL_MS = 5 * 60 * 1000L;
+
+    /** Beyond this many cached users, start over rather than track LRU order. */
+    static final int MAX_USERS = 10_000;
+
+    private final ConversationSummaryService summaryService;
+
+    private final Map<Long, Entry> byUser = new ConcurrentHashMap<>();
+
+    public UnreadCounts countsFor(Long userId) {
+        Entry entry = byUser.get(userId);
+        if (entry == null || entry.expired()) {
+            entry = load(userId);
+        }
+        Map<Long, Integer> nonZero = new HashMap<>();
+        int total = 0;
+        for (Map.Entry<Long, Integer> e : entry.counts.entrySet()) {
+            if (e.getValue() > 0) {
+                nonZero.put(e.getKey(), e.getValue());
+                total += e.getValue();
+            }
+        }
+        return UnreadCounts.builder().total(total).byUser(nonZero).build();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessageSent(MessageSentEvent event) {
+        Entry entry = byUser.get(event.message().getReceiverId());
+        if (entry != null) {
+            entry.counts.merge(event.message().getSenderId(), 1, Integer::sum);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onMessagesRead(MessagesReadEvent event) {
+        Entry entry = byUser.get(event.readerId());
+        if (entry != null) {
+            entry.counts.put(event.otherUserId(), event.unread());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onConversationReset(ConversationResetEvent event) {
+        byUser.remove(event.userA());
+        byUser.remove(event.userB());
+    }
+
+    private Entry load(Long userId) {
+        if (byUser.size() >= MAX_USERS) {
+            byUser.clear();
+        }
+        Entry entry = new Entry();
+        for (ConversationSummary c : summaryService.listFor(userId)) {
+            entry.counts.put(c.otherUser(userId), c.unreadFor(userId));
+        }
+        byUser.put(userId, entry);
+        return entry;
+    }
+
+    private static final class Entry {
+        final Map<Long, Integer> counts = new ConcurrentHashMap<>();
+        final long loadedAt = System.currentTimeMillis();
+
+        boolean expired() {
+            return System.currentTimeMillis() - loadedAt > LOAD_TTL_MS;
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.traymate.backend.messaging;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.traymate.backend.auth.model.UserSummary;
+import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.service.UserAccountChangedEvent;
+
+import lombok.RequiredArgsConstructor;
+
+/**
+ * In-memory staff directory behind GET /messages/users (the new-chat
+ * contact picker).
+ *
+ * Holds (id, name, role) for every user, loaded with one projection query
+ * — no password hashes — and sorted by name. Name search is a prefix match
+ * on any word of the name ("jo" finds "John Smith" and "Ann Jones") via a
+ * TreeMap of lowercased words, so it doesn't scan the roster.
+ *
+ * Dropped on UserAccountChangedEvent (registration, deletion) and rebuilt
+ * on the next request; also reloaded after RELOAD_MS to pick up anything
+ * written outside the app. Each snapshot remembers the generation it was
+ * loaded under, and the event bumps it, so a load that started before the
+ * change can't stand in for a fresh one even if it's published after.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserDirectory {
+
+    static final long RELOAD_MS = 10 * 60 * 1000L;
+
+    private final UserRepository userRepository;
+
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile Snapshot snapshot;
+
+    /**
+     * Users matching an optional name prefix and optional roles, in name
+     * order, skipping {@code excludeUserId}. {@code limit} null = all.
+     */
+    public List<UserSummary> search(String query, Set<String> roles, Long excludeUserId, int offset, Integer limit) {
+        Snapshot s = current();
+        List<UserSummary> candidates = query == null || query.isBlank() ? s.byName : s.matching(query);
+
+        List<UserSummary> out = new ArrayList<>();
+        int skipped = 0;
+        for (UserSummary u : candidates) {
+            if (u.id().equals(excludeUserId)) continue;
+            if (roles != null && !roles.isEmpty() && !roles.contains(u.role())) continue;
+            if (skipped++ < offset) continue;
+            out.add(u);
+            if (limit != null && out.size() >= limit) break;
+        }
+        return out;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onAccountChanged(UserAccountChangedEvent event) {
+        generation.incrementAndGet();
+        snapshot = null;
+    }
+
+    private Snapshot current() {
+        Snapshot s = snapshot;
+        if (s == null || s.generation != generation.get()
+                || System.currentTimeMillis() - s.loadedAt > RELOAD_MS) {
+            // read the generation before the query: a change landing
+            // mid-load leaves this snapshot already stale
+            long gen = generation.get();
+            s = new Snapshot(userRepository.findAllSummaries(), gen);
+            snapshot = s;
+        }
+        return s;
+    }
+
+    private static String key(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static final class Snapshot {
+
+        final long loadedAt = System.currentTimeMillis();
+        final long generation;
+        final List<UserSummary> byName;
+        /** lowercased name word → users with a word starting there, in name order */
+        final NavigableMap<String, List<UserSummary>> byWord = new TreeMap<>();
+
+        Snapshot(List<UserSummary> users, long generation) {
+            this.generation = generation;
+            List<UserSummary> sorted = new ArrayList<>(users);
+            sorted.sort(Comparator.comparing((UserSummary u) -> key(u.fullName())).thenComparing(UserSummary::id));
+            this.byName = List.copyOf(sorted);
+            for (UserSummary u : byName) {
+                for (String word : key(u.fullName()).split("\\s+")) {
+                    if (!word.isEmpty()) byWord.computeIfAbsent(word, w -> new ArrayList<>()).add(u);
+                }
+            }
+        }
+
+        List<UserSummary> matching(String query) {
+            String prefix = key(query);
+            // every word in [prefix, prefix + max char) starts with prefix
+            Set<UserSummary> hits = new LinkedHashSet<>();
+            for (List<UserSummary> users : byWord.subMap(prefix, true, prefix + Character.MAX_VALUE, false).values()) {
+                hits.addAll(users);
+            }
+            // also match across words: "john s" → "John Smith"
+            if (prefix.contains(" ")) {
+                for (UserSummary u : byName) {
+                    if (key(u.fullName()).startsWith(prefix)) hits.add(u);
+                }
+            }
+            List<UserSummary> out = new ArrayList<>(hits);
+            out.sort(Comparator.comparing((UserSummary u) -> key(u.fullName())).thenComparing(UserSummary::id));
+            return out;
+        }
+    }
+}
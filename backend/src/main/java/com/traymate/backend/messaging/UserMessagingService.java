@@ -1,11 +1,12 @@
 package com.traymate.backend.messaging;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 import org.springframework.stereotype.Service;
 
-import com.traymate.backend.auth.model.User;
-import com.traymate.backend.auth.repository.UserRepository;
 import com.traymate.backend.messaging.dto.UserList;
 
 import lombok.RequiredArgsConstructor;
@@ -14,19 +15,30 @@ import lombok.RequiredArgsConstructor;
 @RequiredArgsConstructor
 public class UserMessagingService {
 
-    private final UserRepository userRepository;
+    static final int MAX_LIMIT = 500;
 
-    public List<UserList> getAllUsers(Long currentUserId) {
+    private final UserDirectory directory;
 
-        List<User> users = userRepository.findAll();
+    // served from the cached UserDirectory; with no filters this is
+    // everyone but yourself, as before. q = name prefix (any word), role = one role or a comma list,
+    // offset/limit page through the name-ordered result
+    public List<UserList> searchUsers(Long currentUserId, String q, String role, Integer offset, Integer limit) {
 
-        return users.stream()
-                // exclude yourself
-                .filter(user -> !user.getId().equals(currentUserId))
+        Set<String> roles = role == null || role.isBlank()
+                ? Set.of()
+                : Arrays.stream(role.split(","))
+                        .map(String::trim)
+                        .filter(r -> !r.isEmpty())
+                        .collect(Collectors.toSet());
+
+        int from = offset == null ? 0 : Math.max(0, offset);
+        Integer size = limit == null ? null : Math.max(1, Math.min(limit, MAX_LIMIT));
+
+        return directory.search(q, roles, currentUserId, from, size).stream()
                 .map(user -> UserList.builder()
-                        .id(user.getId())
-                        .fullName(user.getFullName())
-                        .role(user.getRole() == null ? "" : user.getRole())
+                        .id(user.id())
+                        .fullName(user.fullName())
+                        .role(user.role() == null ? "" : user.role())
                         .build())
                 .toList();
     }
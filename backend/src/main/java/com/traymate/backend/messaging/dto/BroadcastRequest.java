@@ -0,0 +1,11 @@
+package com.traymate.backend.messaging.dto;
+
+import lombok.Data;
+
+@Data
+public class BroadcastRequest {
+
+    // audience, e.g. "ROLE_CAREGIVER" — everyone with that role gets it
+    private String role;
+    private String content;
+}
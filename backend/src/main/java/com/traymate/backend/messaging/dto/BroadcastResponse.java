@@ -0,0 +1,22 @@
+package com.traymate.backend.messaging.dto;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder
+public class BroadcastResponse {
+
+    private Long id;
+    private Long senderId;
+    private String senderName;
+    private String role;
+    private String content;
+    private LocalDateTime createdAt;
+    private Boolean isRead;
+
+    // only set on send: how many users currently have the role
+    private Long recipientCount;
+}
@@ -17,4 +17,11 @@ public class ChatResponse {
     private Long receiverId;
     private String senderName;
     private String receiverName;
+
+    // messages in this conversation the requesting user hasn't read
+    private int unreadCount;
+
+    // set when this row is a role broadcast channel rather than a 1:1 chat;
+    // id is then a broadcast id and receiverId is null
+    private String broadcastRole;
 }
@@ -0,0 +1,19 @@
+package com.traymate.backend.messaging.dto;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class ConversationPage {
+
+    // oldest → newest, ready to render top to bottom
+    private List<MessageResponse> messages;
+
+    // pass back as ?before= to load the next older page; null when hasMore is false
+    private Long nextBefore;
+
+    private boolean hasMore;
+}
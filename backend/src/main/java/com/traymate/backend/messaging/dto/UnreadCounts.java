@@ -0,0 +1,17 @@
+package com.traymate.backend.messaging.dto;
+
+import java.util.Map;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+@Builder
+public class UnreadCounts {
+
+    // sum of byUser, for the app icon / tab badge
+    private int total;
+
+    // other user's id → unread messages from them; conversations with nothing unread are left out
+    private Map<Long, Integer> byUser;
+}
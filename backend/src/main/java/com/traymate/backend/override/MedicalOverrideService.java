@@ -7,6 +7,8 @@ import com.traymate.backend.compliance.DietaryComplianceService;
 import com.traymate.backend.compliance.dto.ComplianceResult;
 import com.traymate.backend.compliance.dto.ComplianceViolation;
 import com.traymate.backend.compliance.dto.MealComplianceResult;
+import com.traymate.backend.events.OutboxEvent;
+import com.traymate.backend.events.OutboxService;
 import com.traymate.backend.menu.Meal;
 import com.traymate.backend.menu.MealRepository;
 import com.traymate.backend.override.dto.CreateOverrideRequest;
@@ -47,6 +49,7 @@ public class MedicalOverrideService {
     private final MealRepository mealRepository;
     private final DietaryComplianceService complianceService;
     private final OverrideAuthorizationService authz;
+    private final OutboxService outbox;
 
     private static final Duration APPROVAL_TTL = Duration.ofHours(24);
 
@@ -91,7 +94,9 @@ public class MedicalOverrideService {
             .requestedAt(Instant.now())
             .build();
 
-        return repo.save(entity);
+        MedicalOverrideRequest saved = repo.save(entity);
+        appendEvent(saved, "override.requested");
+        return saved;
     }
 
     // ── Admin decisions ────────────────────────────────────────────
@@ -124,7 +129,9 @@ public class MedicalOverrideService {
         request.setDecisionReason(reason);
         request.setDecidedAt(Instant.now());
         request.setExpiresAt(expiresAt);
-        return repo.save(request);
+        MedicalOverrideRequest saved = repo.save(request);
+        appendEvent(saved, "override." + status.toLowerCase(Locale.ROOT));
+        return saved;
     }
 
     // ── Listing ────────────────────────────────────────────────────
@@ -172,10 +179,22 @@ public class MedicalOverrideService {
     public void consume(MedicalOverrideRequest override) {
         override.setStatus(MedicalOverrideRequest.STATUS_CONSUMED);
         repo.save(override);
+        appendEvent(override, "override.consumed");
     }
 
     // ── Helpers ────────────────────────────────────────────────────
 
+    // Ids and status only: the violations snapshot and free-text reasons
+    // stay in the override table, not in a feed kitchen tablets can poll.
+    private void appendEvent(MedicalOverrideRequest request, String eventType) {
+        outbox.append(OutboxEvent.AGGREGATE_OVERRIDE, request.getId(), eventType,
+            OutboxService.payload(
+                "residentId", request.getResidentId(),
+                "mealOfDay", request.getMealOfDay(),
+                "targetDate", String.valueOf(request.getTargetDate()),
+                "status", request.getStatus()));
+    }
+
     /**
      * Build a human-readable multi-line snapshot of the current compliance
      * violations so the admin review UI can show exactly what the requester
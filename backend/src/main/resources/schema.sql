@@ -131,3 +131,185 @@ ALTER TABLE meal_orders
 -- Gemini system prompt so GrannyBT replies in the resident's language.
 ALTER TABLE residents
     ADD COLUMN IF NOT EXISTS language VARCHAR(20) NOT NULL DEFAULT 'English';
+
+-- Optimistic-lock counter for meal_orders. Kitchen status taps and
+-- resident edits are version-checked so concurrent writers get a 409
+-- instead of silently overwriting each other. Existing rows start at 0.
+ALTER TABLE meal_orders
+    ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+
+-- Transactional outbox. Order/menu/resident/override writes append a row
+-- here in the same transaction as the change; OutboxRelay publishes them
+-- in order and stamps `seq`, which GET /events?after= pages on. Relayed
+-- rows are purged after traymate.outbox.retention-days.
+CREATE TABLE IF NOT EXISTS outbox_event (
+    id BIGINT NOT NULL AUTO_INCREMENT,
+    seq BIGINT NULL,
+    aggregate_type VARCHAR(40) NOT NULL,
+    aggregate_id VARCHAR(64) NULL,
+    event_type VARCHAR(60) NOT NULL,
+    payload TEXT NULL,
+    created_at DATETIME(6) NOT NULL,
+    published_at DATETIME(6) NULL,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_outbox_event_seq (seq),
+    INDEX idx_outbox_event_unpublished (published_at, id)
+);
+
+-- Numeric nutrition columns derived from the free-text `nutrition`
+-- field ("Total Fat: 14g, ... Sugar: 3g, ..."). New writes fill them via
+-- Meal's @PrePersist/@PreUpdate (NutritionParser); rows written before
+-- the columns existed are filled at startup by MealDerivedColumnsBackfill
+-- with the same parser, not a REGEXP copy of it.
+ALTER TABLE meals
+    ADD COLUMN IF NOT EXISTS total_fat INT NULL,
+    ADD COLUMN IF NOT EXISTS carbohydrate INT NULL,
+    ADD COLUMN IF NOT EXISTS fiber INT NULL,
+    ADD COLUMN IF NOT EXISTS sugar INT NULL,
+    ADD COLUMN IF NOT EXISTS cholesterol INT NULL;
+
+-- Meal schedule beyond the daily time_range window (see MealSchedule):
+-- days of week ("MON-FRI", "SAT,SUN") and a seasonal MM-DD date range.
+-- NULL = every day / year-round, which is what every existing row gets.
+ALTER TABLE meals
+    ADD COLUMN IF NOT EXISTS available_days VARCHAR(64) NULL,
+    ADD COLUMN IF NOT EXISTS season_start VARCHAR(5) NULL,
+    ADD COLUMN IF NOT EXISTS season_end VARCHAR(5) NULL;
+
+-- Meal periods as a bitmask (see MealPeriod): Breakfast 1, Lunch 2,
+-- Dinner 4, Drinks 8, Sides 16; "All Day" = 7. Replaces LIKE '%lunch%'
+-- scans on the free-text mealperiod. New writes set it in Meal's entity
+-- callback; existing rows get it from MealDerivedColumnsBackfill, which
+-- tokenises exactly like MealPeriod.maskOf.
+ALTER TABLE meals
+    ADD COLUMN IF NOT EXISTS period_mask INT NOT NULL DEFAULT 0;
+
+CREATE INDEX IF NOT EXISTS idx_meals_period_mask ON meals (period_mask, is_available);
+
+-- Local, content-addressed copies of meal images (see ImageStore). Files
+-- live on disk under traymate.images.dir; this table remembers where each
+-- came from so an external image_url is fetched once.
+CREATE TABLE IF NOT EXISTS image_asset (
+    hash          VARCHAR(64)   NOT NULL,
+    source_url    VARCHAR(700)  NULL,
+    content_type  VARCHAR(64)   NOT NULL,
+    width         INT           NULL,
+    height        INT           NULL,
+    byte_size     BIGINT        NOT NULL,
+    created_at    DATETIME(6)   NOT NULL,
+    PRIMARY KEY (hash),
+    INDEX idx_image_asset_source_url (source_url)
+);
+
+ALTER TABLE meals
+    ADD COLUMN IF NOT EXISTS image_key VARCHAR(64) NULL;
+
+-- Chat-list summary, one row per unordered user pair (see
+-- ConversationSummary). Maintained on send / read / delete; the INSERT
+-- below backfills pairs that predate the table and skips any that already
+-- have a row, so it's a no-op after the first boot.
+CREATE TABLE IF NOT EXISTS conversation_summary (
+    id              BIGINT        NOT NULL AUTO_INCREMENT,
+    user_low_id     BIGINT        NOT NULL,
+    user_high_id    BIGINT        NOT NULL,
+    last_message_id BIGINT        NOT NULL,
+    last_sender_id  BIGINT        NOT NULL,
+    last_preview    VARCHAR(280)  NULL,
+    last_message_at DATETIME(6)   NULL,
+    unread_low      INT           NOT NULL DEFAULT 0,
+    unread_high     INT           NOT NULL DEFAULT 0,
+    PRIMARY KEY (id),
+    UNIQUE KEY uk_conversation_summary_pair (user_low_id, user_high_id),
+    INDEX idx_conversation_summary_low_recent (user_low_id, last_message_at),
+    INDEX idx_conversation_summary_high_recent (user_high_id, last_message_at)
+);
+
+INSERT INTO conversation_summary
+    (user_low_id, user_high_id, last_message_id, last_sender_id,
+     last_preview, last_message_at, unread_low, unread_high)
+SELECT p.low_id, p.high_id, m.id, m.sender_id,
+       CASE WHEN CHAR_LENGTH(m.content) > 280 THEN CONCAT(LEFT(m.content, 279), '…') ELSE m.content END,
+       m.created_at,
+       (SELECT COUNT(*) FROM message u
+         WHERE u.receiver_id = p.low_id AND u.sender_id = p.high_id
+           AND (u.is_read = 0 OR u.is_read IS NULL)),
+       CASE WHEN p.low_id = p.high_id THEN 0 ELSE
+       (SELECT COUNT(*) FROM message u
+         WHERE u.receiver_id = p.high_id AND u.sender_id = p.low_id
+           AND (u.is_read = 0 OR u.is_read IS NULL)) END
+  FROM (SELECT LEAST(sender_id, receiver_id)    AS low_id,
+               GREATEST(sender_id, receiver_id) AS high_id,
+               MAX(id)                          AS last_id
+          FROM message
+         WHERE sender_id IS NOT NULL AND receiver_id IS NOT NULL
+         GROUP BY LEAST(sender_id, receiver_id), GREATEST(sender_id, receiver_id)) p
+  JOIN message m ON m.id = p.last_id
+ WHERE NOT EXISTS (SELECT 1 FROM conversation_summary s
+                    WHERE s.user_low_id = p.low_id AND s.user_high_id = p.high_id);
+
+-- Keyset pagination of a conversation (MessageRepository.findNewestSent /
+-- findSentBefore): one backwards range scan per direction. InnoDB appends
+-- the primary key, so (created_at, id) ordering comes from the index.
+CREATE INDEX IF NOT EXISTS idx_message_pair_created ON message (sender_id, receiver_id, created_at);
+
+-- Per-(reader, sender) read watermark replacing per-row is_read updates
+-- (see ConversationRead). Seeded once from the legacy is_read flags while
+-- the table is still empty; after that message.is_read is never written.
+CREATE TABLE IF NOT EXISTS conversation_read (
+    user_id              BIGINT       NOT NULL,
+    other_user_id        BIGINT       NOT NULL,
+    last_read_message_id BIGINT       NOT NULL,
+    updated_at           DATETIME(6)  NOT NULL,
+    PRIMARY KEY (user_id, other_user_id)
+);
+
+INSERT INTO conversation_read (user_id, other_user_id, last_read_message_id, updated_at)
+SELECT receiver_id, sender_id, MAX(id), CURRENT_TIMESTAMP(6)
+  FROM message
+ WHERE is_read = 1
+   AND sender_id IS NOT NULL AND receiver_id IS NOT NULL
+   AND NOT EXISTS (SELECT 1 FROM conversation_read)
+ GROUP BY receiver_id, sender_id;
+
+-- Role broadcasts (see Broadcast): one row per send, whatever the number
+-- of recipients. Chat list and history read a channel newest-first by id.
+CREATE TABLE IF NOT EXISTS broadcast_message (
+    id            BIGINT       NOT NULL AUTO_INCREMENT,
+    sender_id     BIGINT       NOT NULL,
+    audience_role VARCHAR(50)  NOT NULL,
+    content       TEXT         NULL,
+    created_at    DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_broadcast_role (audience_role, id),
+    KEY idx_broadcast_sender (sender_id, audience_role)
+);
+
+-- Per-(user, channel) read watermark for broadcasts, like conversation_read.
+CREATE TABLE IF NOT EXISTS broadcast_read (
+    user_id                BIGINT       NOT NULL,
+    audience_role          VARCHAR(50)  NOT NULL,
+    last_read_broadcast_id BIGINT       NOT NULL,
+    updated_at             DATETIME(6)  NOT NULL,
+    PRIMARY KEY (user_id, audience_role)
+);
+
+-- Messages past their retention window (see MessageRetentionJob). Same ids
+-- as the live table, so watermarks and summaries keep pointing at them.
+CREATE TABLE IF NOT EXISTS message_archive (
+    id          BIGINT       NOT NULL,
+    sender_id   BIGINT       NULL,
+    receiver_id BIGINT       NULL,
+    content     TEXT         NULL,
+    created_at  DATETIME(6)  NULL,
+    archived_at DATETIME(6)  NOT NULL,
+    PRIMARY KEY (id),
+    KEY idx_message_archive_pair (sender_id, receiver_id, id)
+);
+
+-- Retention cutoff lookup (MessageRepository.findMaxIdCreatedBefore).
+CREATE INDEX IF NOT EXISTS idx_message_created ON message (created_at);
+
+-- Per-user access-token version (User.tokenVersion / TokenVersionRegistry).
+-- Tokens carry it as the "ver" claim; bumping it revokes them all.
+ALTER TABLE users
+    ADD COLUMN IF NOT EXISTS token_version INT NOT NULL DEFAULT 0;
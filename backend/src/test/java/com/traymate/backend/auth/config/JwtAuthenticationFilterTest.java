@@ -0,0 +1,97 @@
+package com.traymate.backend.auth.config;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import com.traymate.backend.auth.model.User;
+import com.traymate.backend.auth.model.UserSummary;
+import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.service.JwtTokenService;
+import com.traymate.backend.auth.service.PrincipalCache;
+import com.traymate.backend.auth.service.TokenVersionRegistry;
+
+class JwtAuthenticationFilterTest {
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final JwtTokenService jwtService = new JwtTokenService();
+    private final TokenVersionRegistry tokenVersions = new TokenVersionRegistry(users);
+    private final JwtAuthenticationFilter filter =
+            new JwtAuthenticationFilter(jwtService, new PrincipalCache(users), tokenVersions);
+
+    private final User nurse = User.builder()
+            .id(7L)
+            .fullName("Ann Jones")
+            .email("ann@traymate.test")
+            .role("ROLE_CAREGIVER")
+            .tokenVersion(3)
+            .build();
+
+    @AfterEach
+    void clearContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    private Authentication authenticate(String token) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+        return SecurityContextHolder.getContext().getAuthentication();
+    }
+
+    @Test
+    void currentVersionAuthenticatesFromClaimsAlone() throws Exception {
+        when(users.findTokenVersion(7L)).thenReturn(Optional.of(3));
+
+        Authentication auth = authenticate(jwtService.generateAccessToken(nurse));
+
+        assertNotNull(auth);
+        assertEquals(7L, ((User) auth.getPrincipal()).getId());
+        assertEquals("ROLE_CAREGIVER", auth.getAuthorities().iterator().next().getAuthority());
+        verify(users, never()).findSummaryByEmail("ann@traymate.test");
+    }
+
+    @Test
+    void revokedVersionIsRejected() throws Exception {
+        String token = jwtService.generateAccessToken(nurse);
+        when(users.findTokenVersion(7L)).thenReturn(Optional.of(4));
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void deletedUserIsRejected() throws Exception {
+        String token = jwtService.generateAccessToken(nurse);
+        when(users.findTokenVersion(7L)).thenReturn(Optional.empty());
+
+        assertNull(authenticate(token));
+    }
+
+    @Test
+    void tokenWithoutIdentityClaimsFallsBackToPrincipalCache() throws Exception {
+        String token = jwtService.generateToken(Map.of(), "ann@traymate.test");
+        when(users.findSummaryByEmail("ann@traymate.test"))
+                .thenReturn(Optional.of(new UserSummary(7L, "Ann Jones", "ann@traymate.test", "ROLE_CAREGIVER")));
+
+        Authentication auth = authenticate(token);
+
+        assertNotNull(auth);
+        assertEquals(7L, ((User) auth.getPrincipal()).getId());
+        verify(users, never()).findTokenVersion(7L);
+    }
+}
@@ -0,0 +1,99 @@
+package com.traymate.backend.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import com.traymate.backend.auth.exception.LoginThrottledException;
+
+class LoginThrottleTest {
+
+    /** Hand-wound nanoTime for the bucket. */
+    private long now = 0;
+
+    private void advanceSeconds(double seconds) {
+        now += (long) (seconds * TimeUnit.SECONDS.toNanos(1));
+    }
+
+    @Test
+    void bucketAllowsBurstThenReportsWaitForNextToken() {
+        // 3 attempts up front, then one every 4s
+        LoginThrottle.Bucket bucket = new LoginThrottle.Bucket(3, 0.25, () -> now);
+
+        assertEquals(0, bucket.tryTake());
+        assertEquals(0, bucket.tryTake());
+        assertEquals(0, bucket.tryTake());
+        assertEquals(4, bucket.tryTake());
+
+        // a refused attempt costs nothing; part of the next token has accrued
+        advanceSeconds(3);
+        assertEquals(1, bucket.tryTake());
+        advanceSeconds(1);
+        assertEquals(0, bucket.tryTake());
+    }
+
+    @Test
+    void bucketRefillsOverTimeUpToCapacity() {
+        LoginThrottle.Bucket bucket = new LoginThrottle.Bucket(2, 1.0, () -> now);
+        bucket.tryTake();
+        bucket.tryTake();
+        assertFalse(bucket.isFull());
+
+        advanceSeconds(1);
+        assertEquals(0, bucket.tryTake());
+        assertEquals(1, bucket.tryTake());
+
+        // a long idle spell never banks more than capacity
+        advanceSeconds(3600);
+        assertTrue(bucket.isFull());
+        assertEquals(0, bucket.tryTake());
+        assertEquals(0, bucket.tryTake());
+        assertEquals(1, bucket.tryTake());
+    }
+
+    @Test
+    void bucketWithNoRefillRateWaitsAMinute() {
+        LoginThrottle.Bucket bucket = new LoginThrottle.Bucket(1, 0, () -> now);
+        assertEquals(0, bucket.tryTake());
+        assertEquals(60, bucket.tryTake());
+    }
+
+    @Test
+    void accountIsThrottledWithRetryAfter() {
+        LoginThrottle throttle = new LoginThrottle(2, 6, 100, 600);
+        throttle.admit("Alice@Example.com", "10.0.0.1");
+        throttle.admit("alice@example.com ", "10.0.0.1");
+
+        LoginThrottledException e = assertThrows(LoginThrottledException.class,
+            () -> throttle.admit("alice@example.com", "10.0.0.1"));
+        assertTrue(e.getRetryAfterSeconds() >= 1 && e.getRetryAfterSeconds() <= 10);
+
+        // other accounts behind the same address are unaffected
+        assertDoesNotThrow(() -> throttle.admit("bob@example.com", "10.0.0.1"));
+    }
+
+    @Test
+    void successfulLoginResetsTheAccountBucket() {
+        LoginThrottle throttle = new LoginThrottle(1, 1, 100, 600);
+        throttle.admit("alice@example.com", null);
+        assertThrows(LoginThrottledException.class, () -> throttle.admit("alice@example.com", null));
+
+        throttle.onSuccess("ALICE@example.com");
+        assertDoesNotThrow(() -> throttle.admit("alice@example.com", null));
+    }
+
+    @Test
+    void ipBucketIsCheckedAcrossAccounts() {
+        LoginThrottle throttle = new LoginThrottle(5, 5, 2, 1);
+        throttle.admit("a@example.com", "10.0.0.1");
+        throttle.admit("b@example.com", "10.0.0.1");
+        assertThrows(LoginThrottledException.class, () -> throttle.admit("c@example.com", "10.0.0.1"));
+        assertDoesNotThrow(() -> throttle.admit("c@example.com", "10.0.0.2"));
+    }
+}
@@ -0,0 +1,90 @@
+package com.traymate.backend.auth.service;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.Optional;
+
+import org.junit.jupiter.api.Test;
+
+import com.traymate.backend.auth.repository.UserRepository;
+import com.traymate.backend.auth.service.UserAccountChangedEvent.Change;
+
+class TokenVersionRegistryTest {
+
+    private final UserRepository users = mock(UserRepository.class);
+    private final TokenVersionRegistry registry = new TokenVersionRegistry(users);
+
+    @Test
+    void loadsEachUserOnceThenAnswersFromMemory() {
+        when(users.findTokenVersion(7L)).thenReturn(Optional.of(2));
+
+        assertTrue(registry.isCurrent(7L, 2));
+        assertFalse(registry.isCurrent(7L, 1));
+        assertTrue(registry.isCurrent(7L, 2));
+        verify(users, times(1)).findTokenVersion(7L);
+    }
+
+    @Test
+    void bumpedVersionRejectsOldTokens() {
+        when(users.findTokenVersion(7L)).thenReturn(Optional.of(3), Optional.of(4));
+        when(users.incrementTokenVersion(7L)).thenReturn(1);
+        assertTrue(registry.isCurrent(7L, 3));
+
+        registry.revoke(7L);
+
+        assertFalse(registry.isCurrent(7L, 3));
+        assertTrue(registry.isCurrent(7L, 4));
+    }
+
+    @Test
+    void revokeDoesNotReadTheVersionBeforeCommit() {
+        when(users.incrementTokenVersion(7L)).thenReturn(1);
+
+        registry.revoke(7L);
+
+        verify(users, never()).findTokenVersion(7L);
+    }
+
+    @Test
+    void revokingAnUnknownUserFails() {
+        when(users.incrementTokenVersion(9L)).thenReturn(0);
+
+        assertThrows(IllegalArgumentException.class, () -> registry.revoke(9L));
+    }
+
+    @Test
+    void deletedMapsToGoneWithoutAQuery() {
+        registry.onAccountChanged(new UserAccountChangedEvent(7L, "a@b.c", Change.DELETED));
+
+        assertEquals(TokenVersionRegistry.GONE, registry.current(7L));
+        assertFalse(registry.isCurrent(7L, 0));
+        verify(users, never()).findTokenVersion(7L);
+    }
+
+    @Test
+    void missingUserIsGone() {
+        when(users.findTokenVersion(8L)).thenReturn(Optional.empty());
+
+        assertEquals(TokenVersionRegistry.GONE, registry.current(8L));
+        assertFalse(registry.isCurrent(8L, 0));
+    }
+
+    @Test
+    void updatedDropsTheEntrySoItIsReread() {
+        when(users.findTokenVersion(7L)).thenReturn(Optional.of(0), Optional.of(1));
+        assertTrue(registry.isCurrent(7L, 0));
+
+        registry.onAccountChanged(new UserAccountChangedEvent(7L, "a@b.c", Change.UPDATED));
+
+        assertTrue(registry.isCurrent(7L, 1));
+        verify(users, times(2)).findTokenVersion(7L);
+    }
+}
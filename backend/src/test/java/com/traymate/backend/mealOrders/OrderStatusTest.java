@@ -0,0 +1,85 @@
+package com.traymate.backend.mealOrders;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class OrderStatusTest {
+
+    @Test
+    void normalizeTrimsAndLowerCasesKnownStatuses() {
+        assertEquals(OrderStatus.PREPARING, OrderStatus.normalize("  Preparing "));
+        assertEquals(OrderStatus.SUBSTITUTION_REQUESTED, OrderStatus.normalize("SUBSTITUTION_REQUESTED"));
+        assertNull(OrderStatus.normalize("shipped"));
+        assertNull(OrderStatus.normalize(null));
+    }
+
+    @Test
+    void happyPathMovesForward() {
+        assertTrue(OrderStatus.canTransition(OrderStatus.PENDING, OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.canTransition(OrderStatus.CONFIRMED, OrderStatus.PREPARING));
+        assertTrue(OrderStatus.canTransition(OrderStatus.PREPARING, OrderStatus.READY));
+        assertTrue(OrderStatus.canTransition(OrderStatus.READY, OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void cannotSkipBackwardsOrOutOfTerminalStates() {
+        assertFalse(OrderStatus.canTransition(OrderStatus.PENDING, OrderStatus.READY));
+        assertFalse(OrderStatus.canTransition(OrderStatus.READY, OrderStatus.PENDING));
+        assertFalse(OrderStatus.canTransition(OrderStatus.COMPLETED, OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.canTransition(OrderStatus.CANCELLED, OrderStatus.PENDING));
+        assertFalse(OrderStatus.canTransition(OrderStatus.READY, OrderStatus.SUBSTITUTION_REQUESTED));
+    }
+
+    @Test
+    void kitchenCanStepBackOneStatus() {
+        assertTrue(OrderStatus.canTransition(OrderStatus.READY, OrderStatus.PREPARING));
+        assertTrue(OrderStatus.canTransition(OrderStatus.PREPARING, OrderStatus.PENDING));
+        assertTrue(OrderStatus.canTransition(OrderStatus.PREPARING, OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.canTransition(OrderStatus.CONFIRMED, OrderStatus.PENDING));
+    }
+
+    @Test
+    void substitutionGoesBackIntoTheFlow() {
+        assertTrue(OrderStatus.canTransition(OrderStatus.CONFIRMED, OrderStatus.SUBSTITUTION_REQUESTED));
+        assertTrue(OrderStatus.canTransition(OrderStatus.SUBSTITUTION_REQUESTED, OrderStatus.PENDING));
+        assertTrue(OrderStatus.canTransition(OrderStatus.SUBSTITUTION_REQUESTED, OrderStatus.PREPARING));
+        assertFalse(OrderStatus.canTransition(OrderStatus.SUBSTITUTION_REQUESTED, OrderStatus.READY));
+    }
+
+    @Test
+    void sameStatusIsAnIdempotentNoOp() {
+        assertTrue(OrderStatus.canTransition(OrderStatus.COMPLETED, "Completed"));
+        assertTrue(OrderStatus.canTransition(OrderStatus.CANCELLED, OrderStatus.CANCELLED));
+    }
+
+    @Test
+    void blankCurrentStatusIsTreatedAsPending() {
+        assertTrue(OrderStatus.canTransition(null, OrderStatus.CONFIRMED));
+        assertTrue(OrderStatus.canTransition(" ", OrderStatus.PENDING));
+        assertFalse(OrderStatus.canTransition(null, OrderStatus.COMPLETED));
+    }
+
+    @Test
+    void unknownStatusesNeverTransition() {
+        assertFalse(OrderStatus.canTransition("shipped", OrderStatus.CANCELLED));
+        assertFalse(OrderStatus.canTransition(OrderStatus.PENDING, "shipped"));
+    }
+
+    @Test
+    void sourcesOfListsEveryStatusThatCanReachTheTarget() {
+        assertEquals(Set.of(OrderStatus.PENDING, OrderStatus.CONFIRMED, OrderStatus.SUBSTITUTION_REQUESTED, OrderStatus.READY),
+            OrderStatus.sourcesOf(OrderStatus.PREPARING));
+        assertEquals(Set.of(OrderStatus.READY), OrderStatus.sourcesOf(OrderStatus.COMPLETED));
+        assertEquals(Set.of(OrderStatus.CONFIRMED, OrderStatus.PREPARING, OrderStatus.SUBSTITUTION_REQUESTED),
+            OrderStatus.sourcesOf(OrderStatus.PENDING));
+        // "mark all ready" can't pick up orders nobody has started
+        assertEquals(Set.of(OrderStatus.PREPARING), OrderStatus.sourcesOf(OrderStatus.READY));
+        assertEquals(Set.of(), OrderStatus.sourcesOf("nope"));
+    }
+}
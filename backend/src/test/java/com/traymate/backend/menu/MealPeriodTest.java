@@ -0,0 +1,67 @@
+package com.traymate.backend.menu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MealPeriodTest {
+
+    @Test
+    void maskOfSingleAndCombinedPeriods() {
+        assertEquals(1, MealPeriod.maskOf("Breakfast"));
+        assertEquals(1 | 2, MealPeriod.maskOf("Breakfast, Lunch"));
+        assertEquals(2 | 4, MealPeriod.maskOf("lunch/dinner"));
+        assertEquals(2 | 4, MealPeriod.maskOf("Lunch & Dinner"));
+        assertEquals(1 | 4, MealPeriod.maskOf("Breakfast and Dinner"));
+        assertEquals(8, MealPeriod.maskOf("Beverages"));
+        assertEquals(16, MealPeriod.maskOf("Side"));
+    }
+
+    @Test
+    void allDayIsTheThreeMealsOnly() {
+        assertEquals(MealPeriod.ALL_DAY, MealPeriod.maskOf("All Day"));
+        assertEquals(MealPeriod.ALL_DAY, MealPeriod.maskOf("all-day"));
+        assertEquals(MealPeriod.ALL_DAY, MealPeriod.maskOf("ALLDAY"));
+        assertEquals(7, MealPeriod.ALL_DAY);
+    }
+
+    @Test
+    void matchesWholeTokensNotSubstrings() {
+        assertEquals(0, MealPeriod.maskOf("Besides"));
+        assertEquals(0, MealPeriod.maskOf("Late Breakfast"));
+        assertEquals(0, MealPeriod.maskOf("Brunch"));
+        assertEquals(2, MealPeriod.maskOf("Brunch, Lunch"));
+    }
+
+    @Test
+    void blankOrUnknownIsZero() {
+        assertEquals(0, MealPeriod.maskOf(null));
+        assertEquals(0, MealPeriod.maskOf("  "));
+        assertEquals(0, MealPeriod.maskOf("Snack"));
+    }
+
+    @Test
+    void masksCoveringListsEveryMaskWithTheWantedBits() {
+        List<Integer> breakfast = MealPeriod.masksCovering(MealPeriod.BREAKFAST.bit());
+        assertEquals(16, breakfast.size());
+        assertTrue(breakfast.contains(1));
+        assertTrue(breakfast.contains(MealPeriod.ALL_DAY));
+        assertTrue(breakfast.contains(31));
+        assertFalse(breakfast.contains(2));
+
+        assertEquals(List.of(6, 7, 14, 15, 22, 23, 30, 31), MealPeriod.masksCovering(2 | 4));
+        assertEquals(List.of(), MealPeriod.masksCovering(0));
+    }
+
+    @Test
+    void coversNeedsEveryWantedBitAndNothingCoversZero() {
+        assertTrue(MealPeriod.covers(MealPeriod.ALL_DAY, MealPeriod.LUNCH.bit()));
+        assertFalse(MealPeriod.covers(MealPeriod.DRINKS.bit(), MealPeriod.LUNCH.bit()));
+        assertFalse(MealPeriod.covers(MealPeriod.LUNCH.bit(), 2 | 4));
+        assertFalse(MealPeriod.covers(MealPeriod.ALL_DAY, 0));
+    }
+}
@@ -0,0 +1,123 @@
+package com.traymate.backend.menu;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDate;
+
+import org.junit.jupiter.api.Test;
+
+class MealScheduleTest {
+
+    private static MealSchedule schedule(String timeRange, String days, String seasonStart, String seasonEnd) {
+        return MealSchedule.of(Meal.builder()
+            .timeRange(timeRange)
+            .availableDays(days)
+            .seasonStart(seasonStart)
+            .seasonEnd(seasonEnd)
+            .build());
+    }
+
+    private static int minute(int hour, int minute) {
+        return hour * 60 + minute;
+    }
+
+    @Test
+    void windowIsStartInclusiveEndExclusive() {
+        MealSchedule s = schedule("7am - 10am", null, null, null);
+        assertEquals(minute(7, 0), s.startMinute());
+        assertEquals(minute(10, 0), s.endMinute());
+        assertFalse(s.openAtMinute(minute(6, 59)));
+        assertTrue(s.openAtMinute(minute(7, 0)));
+        assertTrue(s.openAtMinute(minute(9, 59)));
+        assertFalse(s.openAtMinute(minute(10, 0)));
+    }
+
+    @Test
+    void parsesMinutesAndNoonAndMidnight() {
+        MealSchedule s = schedule("11:30am - 12pm", null, null, null);
+        assertEquals(minute(11, 30), s.startMinute());
+        assertEquals(minute(12, 0), s.endMinute());
+
+        // "12am" as an end means the end of the day, not minute 0
+        MealSchedule late = schedule("8pm - 12am", null, null, null);
+        assertEquals(minute(20, 0), late.startMinute());
+        assertEquals(MealSchedule.DAY_MINUTES, late.endMinute());
+        assertTrue(late.openAtMinute(minute(23, 59)));
+    }
+
+    @Test
+    void windowEndingBeforeItStartsWrapsPastMidnight() {
+        MealSchedule s = schedule("10pm - 2am", null, null, null);
+        assertTrue(s.openAtMinute(minute(22, 0)));
+        assertTrue(s.openAtMinute(minute(0, 0)));
+        assertTrue(s.openAtMinute(minute(1, 59)));
+        assertFalse(s.openAtMinute(minute(2, 0)));
+        assertFalse(s.openAtMinute(minute(21, 59)));
+    }
+
+    @Test
+    void blankAllDayOrUnparseableRangesMeanAllDay() {
+        assertTrue(schedule(null, null, null, null).allDay());
+        assertTrue(schedule("All Day", null, null, null).allDay());
+        assertTrue(schedule("whenever", null, null, null).allDay());
+        assertTrue(schedule("9am - 9am", null, null, null).allDay());
+    }
+
+    @Test
+    void dayRangesAndListsLimitTheDaysOffered() {
+        MealSchedule weekdays = schedule(null, "MON-FRI", null, null);
+        assertTrue(weekdays.offeredOn(LocalDate.of(2026, 10, 16)));   // Friday
+        assertFalse(weekdays.offeredOn(LocalDate.of(2026, 10, 17)));  // Saturday
+
+        MealSchedule weekend = schedule(null, "sat, sun", null, null);
+        assertTrue(weekend.offeredOn(LocalDate.of(2026, 10, 18)));    // Sunday
+        assertFalse(weekend.offeredOn(LocalDate.of(2026, 10, 19)));   // Monday
+
+        // a range can wrap the week
+        MealSchedule friToMon = schedule(null, "FRI-MON", null, null);
+        assertTrue(friToMon.offeredOn(LocalDate.of(2026, 10, 19)));   // Monday
+        assertFalse(friToMon.offeredOn(LocalDate.of(2026, 10, 20)));  // Tuesday
+    }
+
+    @Test
+    void seasonBoundsAreInclusive() {
+        MealSchedule spring = schedule(null, null, "03-20", "06-20");
+        assertFalse(spring.offeredOn(LocalDate.of(2026, 3, 19)));
+        assertTrue(spring.offeredOn(LocalDate.of(2026, 3, 20)));
+        assertTrue(spring.offeredOn(LocalDate.of(2026, 6, 20)));
+        assertFalse(spring.offeredOn(LocalDate.of(2026, 6, 21)));
+    }
+
+    @Test
+    void seasonStartingAfterItEndsWrapsTheNewYear() {
+        MealSchedule winter = schedule(null, null, "12-01", "02-28");
+        assertTrue(winter.offeredOn(LocalDate.of(2026, 12, 1)));
+        assertTrue(winter.offeredOn(LocalDate.of(2027, 1, 15)));
+        assertTrue(winter.offeredOn(LocalDate.of(2027, 2, 28)));
+        assertFalse(winter.offeredOn(LocalDate.of(2027, 3, 1)));
+        assertFalse(winter.offeredOn(LocalDate.of(2026, 11, 30)));
+    }
+
+    @Test
+    void halfASeasonIsIgnored() {
+        assertTrue(schedule(null, null, "03-20", null).offeredOn(LocalDate.of(2026, 1, 1)));
+    }
+
+    @Test
+    void validatorsRejectWhatParsingWouldSilentlyWiden() {
+        assertDoesNotThrow(() -> MealSchedule.validateTimeRange("All Day"));
+        assertDoesNotThrow(() -> MealSchedule.validateTimeRange("7am - 10am"));
+        assertThrows(IllegalArgumentException.class, () -> MealSchedule.validateTimeRange("breakfast time"));
+
+        assertDoesNotThrow(() -> MealSchedule.validateDays("MON-FRI, SAT"));
+        assertThrows(IllegalArgumentException.class, () -> MealSchedule.validateDays("MON-XYZ"));
+
+        assertDoesNotThrow(() -> MealSchedule.validateSeason("12-01", "02-28"));
+        assertThrows(IllegalArgumentException.class, () -> MealSchedule.validateSeason("12-01", null));
+        assertThrows(IllegalArgumentException.class, () -> MealSchedule.validateSeason("13-01", "02-28"));
+    }
+}
@@ -0,0 +1,50 @@
+package com.traymate.backend.menu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MenuSearchIndexTest {
+
+    @Test
+    void tokenizeLowerCasesAndSplitsOnPunctuation() {
+        assertEquals(List.of("turkey", "avocado", "wrap"), MenuSearchIndex.tokenize("Turkey & Avocado Wrap"));
+        assertEquals(List.of("banana", "chocolate", "pancakes"), MenuSearchIndex.tokenize("Banana-Chocolate Pancakes"));
+    }
+
+    @Test
+    void tokenizeFoldsAccents() {
+        assertEquals(List.of("salmon", "creme", "brulee"), MenuSearchIndex.tokenize("Salmón, crème brûlée"));
+    }
+
+    @Test
+    void tokenizeDropsSingleCharacters() {
+        assertEquals(List.of("vitamin", "rich"), MenuSearchIndex.tokenize("Vitamin C rich"));
+        assertEquals(List.of(), MenuSearchIndex.tokenize(" - "));
+        assertEquals(List.of(), MenuSearchIndex.tokenize(null));
+    }
+
+    @Test
+    void tokenizeSplitsHanCharactersOneEach() {
+        assertEquals(List.of("三", "文", "鱼", "soup"), MenuSearchIndex.tokenize("三文鱼soup"));
+    }
+
+    @Test
+    void editDistanceCountsInsertDeleteAndSubstitute() {
+        assertEquals(0, MenuSearchIndex.editDistance("salmon", "salmon", 2));
+        assertEquals(1, MenuSearchIndex.editDistance("brocoli", "broccoli", 2));
+        assertEquals(1, MenuSearchIndex.editDistance("soop", "soup", 1));
+        // a transposition is two edits in plain Levenshtein
+        assertEquals(2, MenuSearchIndex.editDistance("samlon", "salmon", 2));
+    }
+
+    @Test
+    void editDistanceGivesUpPastMax() {
+        assertEquals(2, MenuSearchIndex.editDistance("tea", "teapots", 1));
+        assertTrue(MenuSearchIndex.editDistance("salmon", "lemon", 1) > 1);
+        assertEquals(3, MenuSearchIndex.editDistance("pudding", "pizza", 2));
+    }
+}
@@ -0,0 +1,78 @@
+package com.traymate.backend.menu;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class NutritionParserTest {
+
+    private static final String SEEDED =
+        "Calories: 310, Total Fat: 14g, Cholesterol: 285mg, Carbohydrate: 28g, "
+            + "Fiber: 3g, Sugar: 3g, Sodium: 360mg, Protein: 17g";
+
+    @Test
+    void parsesTheSeededFormat() {
+        Map<Nutrient, Integer> n = NutritionParser.parse(SEEDED);
+        assertEquals(310, n.get(Nutrient.CALORIES));
+        assertEquals(14, n.get(Nutrient.TOTAL_FAT));
+        assertEquals(285, n.get(Nutrient.CHOLESTEROL));
+        assertEquals(28, n.get(Nutrient.CARBOHYDRATE));
+        assertEquals(3, n.get(Nutrient.FIBER));
+        assertEquals(3, n.get(Nutrient.SUGAR));
+        assertEquals(360, n.get(Nutrient.SODIUM));
+        assertEquals(17, n.get(Nutrient.PROTEIN));
+    }
+
+    @Test
+    void acceptsLabelVariantsWithOrWithoutColon() {
+        Map<Nutrient, Integer> n = NutritionParser.parse(
+            "fat 9g, Total Carbohydrates 40g, Dietary Fiber: 6g, Sugars 12g");
+        assertEquals(9, n.get(Nutrient.TOTAL_FAT));
+        assertEquals(40, n.get(Nutrient.CARBOHYDRATE));
+        assertEquals(6, n.get(Nutrient.FIBER));
+        assertEquals(12, n.get(Nutrient.SUGAR));
+    }
+
+    @Test
+    void saturatedAndTransFatAreNotTotalFat() {
+        assertFalse(NutritionParser.parse("Saturated Fat: 4g, Trans Fat: 0g").containsKey(Nutrient.TOTAL_FAT));
+        assertEquals(11, NutritionParser.parse("Saturated Fat: 4g, Fat: 11g").get(Nutrient.TOTAL_FAT));
+    }
+
+    @Test
+    void roundsDecimals() {
+        Map<Nutrient, Integer> n = NutritionParser.parse("Total Fat: 2.5g, Fiber: 1.4g");
+        assertEquals(3, n.get(Nutrient.TOTAL_FAT));
+        assertEquals(1, n.get(Nutrient.FIBER));
+    }
+
+    @Test
+    void missingLabelsAreAbsentNotZero() {
+        assertTrue(NutritionParser.parse(null).isEmpty());
+        assertTrue(NutritionParser.parse("  ").isEmpty());
+        assertFalse(NutritionParser.parse("Calories: 120").containsKey(Nutrient.SUGAR));
+    }
+
+    @Test
+    void applyKeepsExplicitColumnsButAlwaysFollowsTheTextForTheRest() {
+        Meal meal = Meal.builder()
+            .nutrition(SEEDED)
+            .calories(500)
+            .sugar(99)
+            .build();
+        NutritionParser.apply(meal);
+        assertEquals(500, meal.getCalories());
+        assertEquals(360, meal.getSodium());
+        assertEquals(3, meal.getSugar());
+
+        meal.setNutrition("Calories: 310");
+        NutritionParser.apply(meal);
+        assertNull(meal.getSugar());
+        assertEquals(500, meal.getCalories());
+    }
+}